@@ -0,0 +1,20 @@
+package pact.producer.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import pact.producer.Application;
+
+final class BenchmarkContexts {
+
+    private BenchmarkContexts() {
+    }
+
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... properties) {
+        return new SpringApplicationBuilder(Application.class)
+            .web(webApplicationType)
+            .properties("server.port=0", "logging.level.root=WARN")
+            .properties(properties)
+            .run();
+    }
+}
@@ -0,0 +1,91 @@
+package pact.producer.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import pact.producer.dto.ScoreUsernameTimestamp;
+import pact.producer.exception.DuplicatedScoreException;
+import pact.producer.handler.ScoreHandler;
+
+/**
+ * Serialization cost of the full score list, as a JSON array and as NDJSON, written to a counting
+ * sink so that only encoding is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GetAllScoresBenchmark {
+
+    @Param({"heap", "packed"})
+    public String engine;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private ScoreHandler scoreHandler;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() throws DuplicatedScoreException {
+        context = BenchmarkContexts.start(WebApplicationType.NONE, "scores.store.engine=" + engine);
+        scoreHandler = context.getBean(ScoreHandler.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        for (int i = 0; i < size; i++) {
+            scoreHandler.createScore(ScoreHandlerBenchmark.name(i), i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public long jsonArray() throws IOException {
+        CountingOutputStream outputStream = new CountingOutputStream();
+        objectMapper.writeValue(outputStream, scoreHandler.getAllScores());
+        return outputStream.count;
+    }
+
+    @Benchmark
+    public long ndjson() throws IOException {
+        CountingOutputStream outputStream = new CountingOutputStream();
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.setRootValueSeparator(null);
+        for (ScoreUsernameTimestamp score : scoreHandler.getAllScores()) {
+            generator.writeObject(score);
+            generator.writeRaw('\n');
+        }
+        generator.close();
+        return outputStream.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
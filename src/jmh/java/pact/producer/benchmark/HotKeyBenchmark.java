@@ -0,0 +1,81 @@
+package pact.producer.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import pact.producer.exception.DuplicatedScoreException;
+import pact.producer.exception.UserNotFoundException;
+import pact.producer.handler.ScoreHandler;
+
+/**
+ * {@link ScoreHandler#updateScore} with names drawn from a Zipfian distribution of exponent
+ * {@code skew}, with and without hot-key write combining.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class HotKeyBenchmark {
+
+    private static final int NAMES = 100_000;
+
+    @Param({"true", "false"})
+    public boolean combining;
+
+    @Param({"0.99", "1.2"})
+    public double skew;
+
+    private ConfigurableApplicationContext context;
+    private ScoreHandler scoreHandler;
+    private double[] cumulative;
+
+    @Setup
+    public void setUp() throws DuplicatedScoreException {
+        context = BenchmarkContexts.start(WebApplicationType.NONE, "scores.hot-keys.enabled=" + combining);
+        scoreHandler = context.getBean(ScoreHandler.class);
+        for (int i = 0; i < NAMES; i++) {
+            scoreHandler.createScore(ScoreHandlerBenchmark.name(i), i);
+        }
+        cumulative = new double[NAMES];
+        double sum = 0;
+        for (int i = 0; i < NAMES; i++) {
+            sum += 1 / Math.pow(i + 1, skew);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < NAMES; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void updateScore() throws UserNotFoundException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        scoreHandler.updateScore(zipfianName(random.nextDouble()), random.nextInt());
+    }
+
+    private String zipfianName(double p) {
+        int index = Arrays.binarySearch(cumulative, p);
+        return ScoreHandlerBenchmark.name(Math.min(index < 0 ? -index - 1 : index, NAMES - 1));
+    }
+
+    @Threads(Threads.MAX)
+    public static class MaxThreads extends HotKeyBenchmark {
+    }
+}
@@ -0,0 +1,61 @@
+package pact.producer.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import pact.producer.converter.ScoreJsonHttpMessageConverter;
+import pact.producer.dto.ScoreUsername;
+
+/**
+ * Decoding of the score update and new score request bodies by the Jackson converter and by
+ * {@link ScoreJsonHttpMessageConverter}. Run with {@code -prof gc} to compare the allocations per
+ * request as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RequestDecodingBenchmark {
+
+    private static final byte[] SCORE = "123456".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SCORE_USERNAME = "{\"name\":\"user-12345\",\"score\":123456}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"jackson", "fast"})
+    public String converter;
+
+    private HttpMessageConverter<Object> messageConverter;
+
+    @Setup
+    public void setUp() {
+        MappingJackson2HttpMessageConverter jacksonConverter = new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build());
+        messageConverter = converter.equals("fast") ? new ScoreJsonHttpMessageConverter(jacksonConverter) : jacksonConverter;
+    }
+
+    @Benchmark
+    public Object readScore() throws IOException {
+        return messageConverter.read(int.class, message(SCORE));
+    }
+
+    @Benchmark
+    public Object readScoreUsername() throws IOException {
+        return messageConverter.read(ScoreUsername.class, message(SCORE_USERNAME));
+    }
+
+    private static MockHttpInputMessage message(byte[] body) {
+        MockHttpInputMessage message = new MockHttpInputMessage(body);
+        message.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return message;
+    }
+}
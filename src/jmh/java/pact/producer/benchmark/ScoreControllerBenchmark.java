@@ -0,0 +1,82 @@
+package pact.producer.benchmark;
+
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import pact.producer.handler.ScoreHandler;
+
+/**
+ * The complete MVC path (dispatching, argument binding, Jackson, exception handling) driven
+ * through MockMvc, without the network. Comparing {@code getScore} with {@code getMissingScore}
+ * shows what the 404 path costs on top of a hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class ScoreControllerBenchmark {
+
+    private static final String BASE_PATH = "/api/v1/scores/";
+
+    @Param({"10000"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkContexts.start(WebApplicationType.SERVLET);
+        ScoreHandler scoreHandler = context.getBean(ScoreHandler.class);
+        for (int i = 0; i < size; i++) {
+            scoreHandler.createScore(ScoreHandlerBenchmark.name(i), i);
+        }
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult getScore() throws Exception {
+        return mockMvc.perform(get(BASE_PATH + randomName())).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult getMissingScore() throws Exception {
+        return mockMvc.perform(get(BASE_PATH + "missing-" + ThreadLocalRandom.current().nextInt(size))).andReturn();
+    }
+
+    @Benchmark
+    public MvcResult updateScore() throws Exception {
+        return mockMvc.perform(put(BASE_PATH + randomName())
+            .contentType(APPLICATION_JSON)
+            .content(Integer.toString(ThreadLocalRandom.current().nextInt(1000))))
+            .andReturn();
+    }
+
+    private String randomName() {
+        return ScoreHandlerBenchmark.name(ThreadLocalRandom.current().nextInt(size));
+    }
+}
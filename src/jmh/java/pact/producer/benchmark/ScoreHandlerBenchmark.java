@@ -0,0 +1,113 @@
+package pact.producer.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import pact.producer.dto.ScoreUsernameTimestamp;
+import pact.producer.exception.DuplicatedScoreException;
+import pact.producer.exception.ScoreConflictException;
+import pact.producer.exception.UserNotFoundException;
+import pact.producer.handler.ScoreHandler;
+
+/**
+ * Single-score operations on a pre-populated {@link ScoreHandler}. The nested subclasses rerun the
+ * same benchmarks with 4 threads and with one thread per available processor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(1)
+public class ScoreHandlerBenchmark {
+
+    @Param({"heap", "packed", "single-writer"})
+    public String engine;
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private ConfigurableApplicationContext context;
+    private ScoreHandler scoreHandler;
+
+    @Setup
+    public void setUp() throws DuplicatedScoreException {
+        context = BenchmarkContexts.start(WebApplicationType.NONE, "scores.store.engine=" + engine);
+        scoreHandler = context.getBean(ScoreHandler.class);
+        for (int i = 0; i < size; i++) {
+            scoreHandler.createScore(name(i), i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ScoreUsernameTimestamp getScore() throws UserNotFoundException {
+        return scoreHandler.getScore(randomName());
+    }
+
+    @Benchmark
+    public void updateScore() throws UserNotFoundException {
+        scoreHandler.updateScore(randomName(), ThreadLocalRandom.current().nextInt());
+    }
+
+    @Benchmark
+    public ScoreUsernameTimestamp incrementScore() throws UserNotFoundException, ScoreConflictException {
+        return scoreHandler.incrementScore(randomName(), 1);
+    }
+
+    @Benchmark
+    public void createAndDeleteScore() throws DuplicatedScoreException, UserNotFoundException {
+        String name = "new-" + sequence.incrementAndGet();
+        scoreHandler.createScore(name, 1);
+        scoreHandler.deleteScore(name);
+    }
+
+    @Benchmark
+    public void getMissingScore(Blackhole blackhole) {
+        try {
+            blackhole.consume(scoreHandler.getScore("missing-" + ThreadLocalRandom.current().nextInt(size)));
+        } catch (UserNotFoundException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    @Benchmark
+    public List<ScoreUsernameTimestamp> getScoresWithPrefix() {
+        String name = randomName();
+        return scoreHandler.getScoresWithPrefix(name.substring(0, name.length() - 1), 10);
+    }
+
+    private String randomName() {
+        return name(ThreadLocalRandom.current().nextInt(size));
+    }
+
+    static String name(int i) {
+        return "user-" + i;
+    }
+
+    @Threads(4)
+    public static class FourThreads extends ScoreHandlerBenchmark {
+    }
+
+    @Threads(Threads.MAX)
+    public static class MaxThreads extends ScoreHandlerBenchmark {
+    }
+}
@@ -0,0 +1,86 @@
+package pact.producer.benchmark;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import pact.producer.dto.ScoreUsernameTimestamp;
+import pact.producer.handler.HeapScoreStore;
+import pact.producer.handler.PackedScoreStore;
+import pact.producer.handler.ScoreStore;
+import pact.producer.handler.SingleWriterScoreStore;
+
+/**
+ * Score updates straight against the storage engines, spread over {@code names} names, so that a
+ * small number of names shows how each engine behaves under contention on the same entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class ScoreStoreBenchmark {
+
+    private static final Instant NOW = Instant.parse("2018-08-05T19:56:16.685Z");
+
+    @Param({"heap", "packed", "single-writer"})
+    public String engine;
+
+    @Param({"1", "16", "100000"})
+    public int names;
+
+    private ScoreStore scoreStore;
+
+    @Setup
+    public void setUp() {
+        switch (engine) {
+            case "heap":
+                scoreStore = new HeapScoreStore(names);
+                break;
+            case "packed":
+                scoreStore = new PackedScoreStore(names);
+                break;
+            case "single-writer":
+                scoreStore = new SingleWriterScoreStore(names, 4096);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown engine " + engine);
+        }
+        for (int i = 0; i < names; i++) {
+            scoreStore.computeIfAbsent(ScoreHandlerBenchmark.name(i), name -> new ScoreUsernameTimestamp(name, 0, NOW));
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        if (scoreStore instanceof SingleWriterScoreStore) {
+            ((SingleWriterScoreStore) scoreStore).close();
+        }
+    }
+
+    @Benchmark
+    public ScoreUsernameTimestamp updateScore() {
+        return scoreStore.computeIfPresent(randomName(), (name, previous) -> new ScoreUsernameTimestamp(name, previous.getScore() + 1, NOW));
+    }
+
+    @Benchmark
+    public ScoreUsernameTimestamp getScore() {
+        return scoreStore.get(randomName());
+    }
+
+    private String randomName() {
+        return ScoreHandlerBenchmark.name(ThreadLocalRandom.current().nextInt(names));
+    }
+
+    @Threads(Threads.MAX)
+    public static class MaxThreads extends ScoreStoreBenchmark {
+    }
+}
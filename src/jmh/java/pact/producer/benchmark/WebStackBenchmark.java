@@ -0,0 +1,94 @@
+package pact.producer.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import pact.producer.handler.ScoreHandler;
+
+/**
+ * Load test of the servlet and the reactive server modes over real HTTP connections. Sampling
+ * mode reports throughput together with the p50/p99/p999 latencies of each mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(64)
+public class WebStackBenchmark {
+
+    @Param({"SERVLET", "REACTIVE"})
+    public WebApplicationType mode;
+
+    @Param({"10000"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private String baseUrl;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = BenchmarkContexts.start(mode);
+        ScoreHandler scoreHandler = context.getBean(ScoreHandler.class);
+        for (int i = 0; i < size; i++) {
+            scoreHandler.createScore(ScoreHandlerBenchmark.name(i), i);
+        }
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api/v1/scores/";
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getScore() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + randomName()).openConnection();
+        return drain(connection);
+    }
+
+    @Benchmark
+    public int updateScore() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + randomName()).openConnection();
+        connection.setRequestMethod("PUT");
+        connection.setRequestProperty("Content-Type", "application/json");
+        connection.setDoOutput(true);
+        try (OutputStream outputStream = connection.getOutputStream()) {
+            outputStream.write(Integer.toString(ThreadLocalRandom.current().nextInt(1000)).getBytes(StandardCharsets.US_ASCII));
+        }
+        return drain(connection);
+    }
+
+    private int drain(HttpURLConnection connection) throws IOException {
+        int status = connection.getResponseCode();
+        InputStream inputStream = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        if (inputStream != null) {
+            byte[] buffer = new byte[4096];
+            try (InputStream body = inputStream) {
+                while (body.read(buffer) >= 0) {
+                    // keep-alive needs the body fully read
+                }
+            }
+        }
+        return status;
+    }
+
+    private String randomName() {
+        return ScoreHandlerBenchmark.name(ThreadLocalRandom.current().nextInt(size));
+    }
+}
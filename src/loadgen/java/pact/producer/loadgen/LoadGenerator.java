@@ -0,0 +1,79 @@
+package pact.producer.loadgen;
+
+import java.io.File;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import pact.producer.Application;
+import pact.producer.metrics.LatencyHistogram;
+
+/**
+ * Open-loop load generator for the scores API. It drives either a weighted mix of operations over
+ * Zipfian-distributed names or, with {@code --pact}, the interactions of a pact file, at
+ * {@code --rate} requests per second, and prints latency percentiles per operation corrected for
+ * coordinated omission.
+ *
+ * <p>Without {@code --target} the application is started in-process on a random port, configured
+ * from system properties as usual; point {@code --target} at a separate instance to keep the
+ * generator from competing with it for CPU. See {@link LoadOptions} for the other options.
+ */
+public final class LoadGenerator {
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        ConfigurableApplicationContext context = null;
+        String target = options.getTarget();
+        if (target == null) {
+            context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.SERVLET)
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+            target = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            Workload workload = options.getPact() != null
+                ? new PactWorkload(new File(options.getPact()))
+                : new MixWorkload(options.getKeys(), options.getZipfExponent(), options.getMix());
+            OpenLoopDriver driver = new OpenLoopDriver(target);
+            driver.setUp(workload);
+            long durationNanos = TimeUnit.SECONDS.toNanos(options.getDurationSeconds());
+            Map<String, OperationStats> stats = driver.run(workload, options.getRate(), TimeUnit.SECONDS.toNanos(options.getWarmupSeconds()), durationNanos);
+            report(stats, options.getDurationSeconds());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static void report(Map<String, OperationStats> stats, int durationSeconds) {
+        System.out.printf("%-24s %10s %8s %9s %9s %9s %9s %9s %13s%n",
+            "operation", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms");
+        long count = 0;
+        for (Map.Entry<String, OperationStats> entry : new TreeMap<>(stats).entrySet()) {
+            LatencyHistogram latency = entry.getValue().getLatency();
+            count += latency.getCount();
+            System.out.printf("%-24s %10d %8d %9.2f %9.2f %9.2f %9.2f %9.2f %13.2f%n",
+                entry.getKey(),
+                latency.getCount(),
+                entry.getValue().getErrors(),
+                millis(latency.getValueAtPercentile(50)),
+                millis(latency.getValueAtPercentile(90)),
+                millis(latency.getValueAtPercentile(99)),
+                millis(latency.getValueAtPercentile(99.9)),
+                millis(latency.getMax()),
+                millis(entry.getValue().getServiceTime().getValueAtPercentile(99)));
+        }
+        System.out.printf("%d requests in %ds, %.1f requests/s%n", count, durationSeconds, (double) count / durationSeconds);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
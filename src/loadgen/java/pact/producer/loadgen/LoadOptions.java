@@ -0,0 +1,111 @@
+package pact.producer.loadgen;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import pact.producer.loadgen.MixWorkload.Operation;
+
+/**
+ * Command-line options of the {@link LoadGenerator}, each given as {@code --name=value}.
+ */
+final class LoadOptions {
+
+    private String target;
+    private String pact;
+    private int rate = 1000;
+    private int warmupSeconds = 5;
+    private int durationSeconds = 30;
+    private int keys = 10_000;
+    private double zipfExponent = 0.99;
+    private Map<Operation, Integer> mix = parseMix("create=5,update=40,get=50,get-all=5");
+
+    static LoadOptions parse(String... args) {
+        LoadOptions options = new LoadOptions();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String value = arg.substring(separator + 1);
+            switch (arg.substring(2, separator)) {
+                case "target":
+                    options.target = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                    break;
+                case "pact":
+                    options.pact = value;
+                    break;
+                case "rate":
+                    options.rate = Integer.parseInt(value);
+                    break;
+                case "warmup":
+                    options.warmupSeconds = Integer.parseInt(value);
+                    break;
+                case "duration":
+                    options.durationSeconds = Integer.parseInt(value);
+                    break;
+                case "keys":
+                    options.keys = Integer.parseInt(value);
+                    break;
+                case "zipf":
+                    options.zipfExponent = Double.parseDouble(value);
+                    break;
+                case "mix":
+                    options.mix = parseMix(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+        }
+        if (options.rate <= 0 || options.durationSeconds <= 0 || options.warmupSeconds < 0 || options.keys <= 0) {
+            throw new IllegalArgumentException("rate, duration and keys must be positive and warmup not negative");
+        }
+        return options;
+    }
+
+    /**
+     * Parses weights such as {@code create=5,update=40,get=50,get-all=5}.
+     */
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight but got: " + entry);
+            }
+            weights.put(Operation.valueOf(parts[0].trim().replace('-', '_').toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    String getTarget() {
+        return target;
+    }
+
+    String getPact() {
+        return pact;
+    }
+
+    int getRate() {
+        return rate;
+    }
+
+    int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    int getKeys() {
+        return keys;
+    }
+
+    double getZipfExponent() {
+        return zipfExponent;
+    }
+
+    Map<Operation, Integer> getMix() {
+        return mix;
+    }
+}
@@ -0,0 +1,51 @@
+package pact.producer.loadgen;
+
+/**
+ * One HTTP request of a workload. An {@code expectedStatus} of 0 accepts any 2xx response.
+ */
+final class LoadRequest {
+
+    private final String label;
+    private final String method;
+    private final String path;
+    private final String contentType;
+    private final String body;
+    private final int expectedStatus;
+
+    LoadRequest(String label, String method, String path, String contentType, String body, int expectedStatus) {
+        this.label = label;
+        this.method = method;
+        this.path = path;
+        this.contentType = contentType;
+        this.body = body;
+        this.expectedStatus = expectedStatus;
+    }
+
+    static LoadRequest get(String label, String path) {
+        return new LoadRequest(label, "GET", path, null, null, 0);
+    }
+
+    String getLabel() {
+        return label;
+    }
+
+    String getMethod() {
+        return method;
+    }
+
+    String getPath() {
+        return path;
+    }
+
+    String getContentType() {
+        return contentType;
+    }
+
+    String getBody() {
+        return body;
+    }
+
+    boolean isExpected(int status) {
+        return expectedStatus == 0 ? status / 100 == 2 : status == expectedStatus;
+    }
+}
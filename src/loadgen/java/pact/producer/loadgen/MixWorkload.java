@@ -0,0 +1,86 @@
+package pact.producer.loadgen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Weighted mix of score operations. Updates and gets pick one of {@code keys} pre-created names
+ * with a Zipfian distribution, and creates always use a new name so that they succeed.
+ */
+final class MixWorkload implements Workload {
+
+    enum Operation {
+        CREATE, UPDATE, GET, GET_ALL
+    }
+
+    private static final String SCORES_PATH = "/api/v1/scores";
+    private static final int SEED_CHUNK = 10_000;
+
+    private final int keys;
+    private final ZipfianKeys zipfianKeys;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    MixWorkload(int keys, double exponent, Map<Operation, Integer> mix) {
+        this.keys = keys;
+        this.zipfianKeys = new ZipfianKeys(keys, exponent);
+        this.operations = mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("The operation mix needs a positive weight");
+        }
+    }
+
+    /**
+     * Creates the names through the NDJSON import, in chunks.
+     */
+    @Override
+    public List<LoadRequest> setUp() {
+        List<LoadRequest> requests = new ArrayList<>();
+        for (int from = 0; from < keys; from += SEED_CHUNK) {
+            StringBuilder body = new StringBuilder();
+            for (int i = from; i < Math.min(keys, from + SEED_CHUNK); i++) {
+                body.append("{\"name\":\"").append(key(i)).append("\",\"score\":").append(i).append("}\n");
+            }
+            requests.add(new LoadRequest("seed", "POST", SCORES_PATH + ":import", "application/x-ndjson", body.toString(), 0));
+        }
+        return requests;
+    }
+
+    @Override
+    public LoadRequest next(long sequence) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (pick(random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]))) {
+            case CREATE:
+                String body = "{\"name\":\"loadgen-new-" + sequence + "\",\"score\":" + random.nextInt(1_000_000) + "}";
+                return new LoadRequest("create", "POST", SCORES_PATH, "application/json", body, 0);
+            case UPDATE:
+                String path = SCORES_PATH + "/" + key(zipfianKeys.next(random));
+                return new LoadRequest("update", "PUT", path, "application/json", Integer.toString(random.nextInt(1_000_000)), 0);
+            case GET:
+                return LoadRequest.get("get", SCORES_PATH + "/" + key(zipfianKeys.next(random)));
+            default:
+                return LoadRequest.get("getAll", SCORES_PATH);
+        }
+    }
+
+    private Operation pick(int weight) {
+        for (int i = 0; i < operations.length; i++) {
+            if (weight < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    private static String key(int i) {
+        return "loadgen-" + i;
+    }
+}
@@ -0,0 +1,93 @@
+package pact.producer.loadgen;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Sends requests at a constant rate whether or not the earlier ones have completed, over a
+ * non-blocking client so that a slow response never holds back the next request. Latency is
+ * measured from the time each request was scheduled to be sent, which corrects for coordinated
+ * omission: a stall shows up in the latency of every request it delayed, not just the one it hit.
+ * The service time, from the actual send, is recorded alongside for comparison.
+ */
+final class OpenLoopDriver {
+
+    private static final Duration SET_UP_TIMEOUT = Duration.ofMinutes(5);
+    private static final long DRAIN_TIMEOUT_SECONDS = 60;
+
+    private final String target;
+    private final WebClient webClient;
+
+    OpenLoopDriver(String target) {
+        this.target = target;
+        this.webClient = WebClient.create();
+    }
+
+    /**
+     * Sends the set-up requests of the workload one at a time, failing on an unexpected status.
+     */
+    void setUp(Workload workload) {
+        for (LoadRequest request : workload.setUp()) {
+            int status = exchange(request).block(SET_UP_TIMEOUT);
+            if (!request.isExpected(status)) {
+                throw new IllegalStateException("Set-up request " + request.getMethod() + " " + request.getPath() + " failed with status " + status);
+            }
+        }
+    }
+
+    /**
+     * Sends {@code rate} requests per second for the warm-up and then the measured period, and
+     * returns the stats of the requests scheduled in the measured period by label.
+     */
+    Map<String, OperationStats> run(Workload workload, int rate, long warmupNanos, long durationNanos) throws InterruptedException {
+        Map<String, OperationStats> stats = new ConcurrentHashMap<>();
+        long total = (warmupNanos + durationNanos) * rate / TimeUnit.SECONDS.toNanos(1);
+        CountDownLatch completed = new CountDownLatch((int) total);
+        long start = System.nanoTime();
+        long measuredFrom = start + warmupNanos;
+        for (long sequence = 0; sequence < total; sequence++) {
+            long scheduled = start + sequence * TimeUnit.SECONDS.toNanos(1) / rate;
+            long delay;
+            while ((delay = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            LoadRequest request = workload.next(sequence);
+            OperationStats operationStats = scheduled >= measuredFrom ? stats.computeIfAbsent(request.getLabel(), label -> new OperationStats()) : null;
+            long sent = System.nanoTime();
+            exchange(request)
+                .onErrorReturn(-1)
+                .subscribe(status -> {
+                    long now = System.nanoTime();
+                    if (operationStats != null) {
+                        operationStats.record(now - scheduled, now - sent, request.isExpected(status));
+                    }
+                    completed.countDown();
+                });
+        }
+        if (!completed.await(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            System.err.println(completed.getCount() + " requests had not completed " + DRAIN_TIMEOUT_SECONDS + "s after the run");
+        }
+        return stats;
+    }
+
+    private Mono<Integer> exchange(LoadRequest request) {
+        WebClient.RequestBodySpec spec = webClient
+            .method(HttpMethod.resolve(request.getMethod()))
+            .uri(URI.create(target + request.getPath()));
+        if (request.getContentType() != null) {
+            spec.contentType(MediaType.parseMediaType(request.getContentType()));
+        }
+        WebClient.RequestHeadersSpec<?> headersSpec = request.getBody() == null ? spec : spec.syncBody(request.getBody());
+        return headersSpec.exchange()
+            .flatMap(response -> response.bodyToMono(Void.class).then(Mono.just(response.statusCode().value())));
+    }
+}
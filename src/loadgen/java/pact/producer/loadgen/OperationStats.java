@@ -0,0 +1,35 @@
+package pact.producer.loadgen;
+
+import java.util.concurrent.atomic.LongAdder;
+import pact.producer.metrics.LatencyHistogram;
+
+/**
+ * Latencies of one kind of request. {@code latency} runs from the time the request was scheduled
+ * to be sent and {@code serviceTime} from the time it actually was, both in nanoseconds.
+ */
+final class OperationStats {
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram serviceTime = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+
+    void record(long latencyNanos, long serviceTimeNanos, boolean expected) {
+        latency.record(latencyNanos);
+        serviceTime.record(serviceTimeNanos);
+        if (!expected) {
+            errors.increment();
+        }
+    }
+
+    LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    LatencyHistogram getServiceTime() {
+        return serviceTime;
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+}
@@ -0,0 +1,78 @@
+package pact.producer.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replays the interactions of a pact file (specification v2 or v3) in file order, round robin,
+ * expecting the status of each recorded response. Provider states are not set up, so a pact whose
+ * interactions depend on one another should list them in an order that can be replayed as is.
+ */
+final class PactWorkload implements Workload {
+
+    private final List<LoadRequest> interactions = new ArrayList<>();
+
+    PactWorkload(File pactFile) throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        JsonNode pact = objectMapper.readTree(pactFile);
+        for (JsonNode interaction : pact.path("interactions")) {
+            JsonNode request = interaction.path("request");
+            JsonNode body = request.get("body");
+            String contentType = contentType(request.path("headers"), body);
+            interactions.add(new LoadRequest(
+                interaction.path("description").asText(request.path("method").asText() + " " + request.path("path").asText()),
+                request.path("method").asText("GET").toUpperCase(),
+                request.path("path").asText("/") + query(request.path("query")),
+                contentType,
+                body == null ? null : body.isTextual() && !contentType.contains("json") ? body.asText() : objectMapper.writeValueAsString(body),
+                interaction.path("response").path("status").asInt(0)));
+        }
+        if (interactions.isEmpty()) {
+            throw new IllegalArgumentException("No interactions in pact file " + pactFile);
+        }
+    }
+
+    @Override
+    public LoadRequest next(long sequence) {
+        return interactions.get((int) (sequence % interactions.size()));
+    }
+
+    /**
+     * Returns the query string, given as a string (v2) or as a map of value arrays (v3).
+     */
+    private static String query(JsonNode query) throws UnsupportedEncodingException {
+        if (query.isTextual()) {
+            return query.asText().isEmpty() ? "" : "?" + query.asText();
+        }
+        StringBuilder queryString = new StringBuilder();
+        for (Iterator<Map.Entry<String, JsonNode>> fields = query.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            for (JsonNode value : field.getValue().isArray() ? field.getValue() : Collections.singletonList(field.getValue())) {
+                queryString.append(queryString.length() == 0 ? '?' : '&')
+                    .append(URLEncoder.encode(field.getKey(), "UTF-8"))
+                    .append('=')
+                    .append(URLEncoder.encode(value.asText(), "UTF-8"));
+            }
+        }
+        return queryString.toString();
+    }
+
+    private static String contentType(JsonNode headers, JsonNode body) {
+        for (Iterator<Map.Entry<String, JsonNode>> fields = headers.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            if (field.getKey().equalsIgnoreCase("Content-Type")) {
+                return field.getValue().asText();
+            }
+        }
+        return body == null ? null : "application/json";
+    }
+}
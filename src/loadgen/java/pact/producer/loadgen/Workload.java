@@ -0,0 +1,20 @@
+package pact.producer.loadgen;
+
+import java.util.Collections;
+import java.util.List;
+
+interface Workload {
+
+    /**
+     * Returns the requests sent, one at a time, before the measured run.
+     */
+    default List<LoadRequest> setUp() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Returns the request to send as the {@code sequence}-th of the run. Only called from the
+     * dispatching thread.
+     */
+    LoadRequest next(long sequence);
+}
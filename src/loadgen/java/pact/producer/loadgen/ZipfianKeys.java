@@ -0,0 +1,30 @@
+package pact.producer.loadgen;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Draws key indexes from 0 to {@code count - 1} with a Zipfian distribution: the probability of
+ * index {@code i} is proportional to {@code 1 / (i + 1)^exponent}. An exponent of 0 is uniform.
+ */
+final class ZipfianKeys {
+
+    private final double[] cumulative;
+
+    ZipfianKeys(int count, double exponent) {
+        cumulative = new double[count];
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += 1 / Math.pow(i + 1, exponent);
+            cumulative[i] = sum;
+        }
+        for (int i = 0; i < count; i++) {
+            cumulative[i] /= sum;
+        }
+    }
+
+    int next(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,63 @@
+package pact.producer.bulk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import pact.producer.dto.ScoreImportResult;
+
+/**
+ * Imports {@code --scores.import.file} and then exports to {@code --scores.export.file} once the
+ * application has started. The format of each file follows its extension.
+ */
+@Component
+public class ScoreBulkRunner implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScoreBulkRunner.class);
+
+    @Autowired
+    private ScoreImporter scoreImporter;
+
+    @Autowired
+    private ScoreExporter scoreExporter;
+
+    @Value("${scores.import.file:}")
+    private String importFile;
+
+    @Value("${scores.export.file:}")
+    private String exportFile;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (!importFile.isEmpty()) {
+            long start = System.nanoTime();
+            ScoreImportResult result;
+            try (InputStream input = Files.newInputStream(Paths.get(importFile))) {
+                result = scoreImporter.importScores(input, ScoreFormat.forFileName(importFile));
+            }
+            LOGGER.info("Imported {} scores from {} in {} ms, rejected {}: {}", result.getImported(), importFile,
+                (System.nanoTime() - start) / 1_000_000, result.getRejected(), result.getErrors());
+        }
+        if (!exportFile.isEmpty()) {
+            Path target = Paths.get(exportFile).toAbsolutePath();
+            Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+            long count;
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                count = scoreExporter.exportScores(channel, ScoreFormat.forFileName(exportFile));
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            LOGGER.info("Exported {} scores to {}", count, target);
+        }
+    }
+}
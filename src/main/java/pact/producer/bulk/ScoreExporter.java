@@ -0,0 +1,60 @@
+package pact.producer.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import pact.producer.dto.ScoreUsernameTimestamp;
+import pact.producer.handler.ScoreHandler;
+
+/**
+ * Streams the scores to a channel through a fixed buffer, iterating the live store rather than a
+ * copy of it; like {@link ScoreHandler#getAllScores()}, the result is weakly consistent with
+ * concurrent writes.
+ */
+@Component
+public class ScoreExporter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private ScoreHandler scoreHandler;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Writes every score to the channel and returns how many were written.
+     */
+    public long exportScores(WritableByteChannel channel, ScoreFormat format) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        if (format.header() != null) {
+            buffer.put((format.header() + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        long count = 0;
+        for (ScoreUsernameTimestamp score : scoreHandler.getAllScores()) {
+            byte[] line = format.format(score, objectMapper);
+            if (buffer.remaining() < line.length) {
+                write(channel, buffer);
+                if (buffer.capacity() < line.length) {
+                    buffer = ByteBuffer.allocate(line.length);
+                }
+            }
+            buffer.put(line);
+            count++;
+        }
+        write(channel, buffer);
+        return count;
+    }
+
+    private static void write(WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
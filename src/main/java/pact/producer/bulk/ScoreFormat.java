@@ -0,0 +1,131 @@
+package pact.producer.bulk;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import pact.producer.dto.ScoreUsernameTimestamp;
+
+/**
+ * Line-oriented formats of the bulk import and export: one JSON object per line, or
+ * {@code name,score,timestamp} rows under a header. A missing timestamp is left {@code null}.
+ */
+public enum ScoreFormat {
+
+    NDJSON {
+        @Override
+        ScoreUsernameTimestamp parse(String line, ObjectMapper objectMapper) throws IOException {
+            JsonNode node = objectMapper.readTree(line);
+            JsonNode name = node.get("name");
+            JsonNode score = node.get("score");
+            if (name == null || !name.isTextual() || name.asText().isEmpty()) {
+                throw new IllegalArgumentException("name is required");
+            }
+            if (score == null || !score.canConvertToInt() || !score.isIntegralNumber()) {
+                throw new IllegalArgumentException("score must be an integer");
+            }
+            JsonNode timestamp = node.get("timestamp");
+            return new ScoreUsernameTimestamp(name.asText(), score.intValue(),
+                timestamp == null || timestamp.isNull() ? null : objectMapper.treeToValue(timestamp, Instant.class));
+        }
+
+        @Override
+        byte[] format(ScoreUsernameTimestamp score, ObjectMapper objectMapper) throws IOException {
+            byte[] json = objectMapper.writeValueAsBytes(score);
+            byte[] line = new byte[json.length + 1];
+            System.arraycopy(json, 0, line, 0, json.length);
+            line[json.length] = '\n';
+            return line;
+        }
+    },
+
+    CSV {
+        @Override
+        String header() {
+            return CSV_HEADER;
+        }
+
+        @Override
+        ScoreUsernameTimestamp parse(String line, ObjectMapper objectMapper) {
+            String name;
+            int end;
+            if (line.startsWith("\"")) {
+                StringBuilder unquoted = new StringBuilder();
+                int i = 1;
+                while (true) {
+                    int quote = line.indexOf('"', i);
+                    if (quote < 0) {
+                        throw new IllegalArgumentException("unterminated quoted name");
+                    }
+                    unquoted.append(line, i, quote);
+                    if (quote + 1 < line.length() && line.charAt(quote + 1) == '"') {
+                        unquoted.append('"');
+                        i = quote + 2;
+                    } else {
+                        end = quote + 1;
+                        break;
+                    }
+                }
+                name = unquoted.toString();
+            } else {
+                end = line.indexOf(',');
+                name = end < 0 ? line : line.substring(0, end);
+            }
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("name is required");
+            }
+            if (end < 0 || end >= line.length() || line.charAt(end) != ',') {
+                throw new IllegalArgumentException("score is required");
+            }
+            int comma = line.indexOf(',', end + 1);
+            String score = comma < 0 ? line.substring(end + 1) : line.substring(end + 1, comma);
+            String timestamp = comma < 0 ? "" : line.substring(comma + 1);
+            try {
+                return new ScoreUsernameTimestamp(name, Integer.parseInt(score.trim()),
+                    timestamp.trim().isEmpty() ? null : Instant.parse(timestamp.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("score must be an integer");
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("timestamp must be an ISO-8601 instant");
+            }
+        }
+
+        @Override
+        byte[] format(ScoreUsernameTimestamp score, ObjectMapper objectMapper) {
+            StringBuilder line = new StringBuilder(score.getName().length() + 48);
+            String name = score.getName();
+            if (name.indexOf(',') >= 0 || name.indexOf('"') >= 0 || name.indexOf('\n') >= 0 || name.indexOf('\r') >= 0) {
+                line.append('"').append(name.replace("\"", "\"\"")).append('"');
+            } else {
+                line.append(name);
+            }
+            line.append(',').append(score.getScore()).append(',');
+            if (score.getTimestamp() != null) {
+                line.append(score.getTimestamp());
+            }
+            return line.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+        }
+    };
+
+    private static final String CSV_HEADER = "name,score,timestamp";
+
+    /**
+     * Returns the header line, without a line separator, or {@code null} when the format has none.
+     */
+    String header() {
+        return null;
+    }
+
+    abstract ScoreUsernameTimestamp parse(String line, ObjectMapper objectMapper) throws IOException;
+
+    abstract byte[] format(ScoreUsernameTimestamp score, ObjectMapper objectMapper) throws IOException;
+
+    /**
+     * Returns the format of a file from its extension, NDJSON unless it is {@code .csv}.
+     */
+    public static ScoreFormat forFileName(String fileName) {
+        return fileName.toLowerCase().endsWith(".csv") ? CSV : NDJSON;
+    }
+}
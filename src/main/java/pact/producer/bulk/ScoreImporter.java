@@ -0,0 +1,188 @@
+package pact.producer.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pact.producer.dto.ScoreImportResult;
+import pact.producer.dto.ScoreUsernameTimestamp;
+import pact.producer.handler.ScoreHandler;
+import pact.producer.service.TimeProvider;
+
+/**
+ * Streams scores into the {@link ScoreHandler}. The input is read in chunks of lines that are
+ * parsed in parallel, while the calling thread applies the parsed chunks in input order, so a
+ * later line for a name wins. At most two chunks per parser are in flight, which bounds memory
+ * whatever the size of the input. Malformed lines are skipped and reported.
+ */
+@Component
+public class ScoreImporter {
+
+    private static final int CHUNK_SIZE = 1024;
+    private static final int MAX_REPORTED_ERRORS = 10;
+
+    @Autowired
+    private ScoreHandler scoreHandler;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TimeProvider timeProvider;
+
+    @Value("${scores.import.parallelism:0}")
+    private int parallelism;
+
+    private ExecutorService parsers;
+
+    @PostConstruct
+    void start() {
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        AtomicInteger threads = new AtomicInteger();
+        parsers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "score-import-parser-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        parsers.shutdownNow();
+    }
+
+    /**
+     * Imports every score of the input, creating the missing names and replacing the scores of the
+     * existing ones. Scores without a timestamp are stamped with the time of the import.
+     */
+    public ScoreImportResult importScores(InputStream input, ScoreFormat format) throws IOException {
+        Instant now = timeProvider.now();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024);
+        Deque<Future<ParsedChunk>> inFlight = new ArrayDeque<>();
+        Totals totals = new Totals();
+        List<String> lines = new ArrayList<>(CHUNK_SIZE);
+        long firstLine = 1;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && line.equals(format.header())) {
+                firstLine = 2;
+                continue;
+            }
+            lines.add(line);
+            if (lines.size() == CHUNK_SIZE) {
+                inFlight.add(parsers.submit(new ParseTask(lines, firstLine, format)));
+                lines = new ArrayList<>(CHUNK_SIZE);
+                firstLine = lineNumber + 1;
+                if (inFlight.size() >= 2 * parallelism) {
+                    apply(inFlight.poll(), now, totals);
+                }
+            }
+        }
+        if (!lines.isEmpty()) {
+            inFlight.add(parsers.submit(new ParseTask(lines, firstLine, format)));
+        }
+        while (!inFlight.isEmpty()) {
+            apply(inFlight.poll(), now, totals);
+        }
+        scoreHandler.beforeAcknowledgement();
+        return new ScoreImportResult(totals.imported, totals.rejected, totals.errors);
+    }
+
+    private void apply(Future<ParsedChunk> future, Instant now, Totals totals) throws IOException {
+        ParsedChunk chunk;
+        try {
+            chunk = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while importing scores");
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not parse the scores", e.getCause());
+        }
+        for (ScoreUsernameTimestamp score : chunk.scores) {
+            scoreHandler.putScore(score.getName(), score.getScore(), score.getTimestamp() == null ? now : score.getTimestamp());
+        }
+        totals.imported += chunk.scores.size();
+        totals.rejected += chunk.rejected;
+        for (String error : chunk.errors) {
+            if (totals.errors.size() < MAX_REPORTED_ERRORS) {
+                totals.errors.add(error);
+            }
+        }
+    }
+
+    private final class ParseTask implements Callable<ParsedChunk> {
+
+        private final List<String> lines;
+        private final long firstLine;
+        private final ScoreFormat format;
+
+        private ParseTask(List<String> lines, long firstLine, ScoreFormat format) {
+            this.lines = lines;
+            this.firstLine = firstLine;
+            this.format = format;
+        }
+
+        @Override
+        public ParsedChunk call() {
+            ParsedChunk chunk = new ParsedChunk(lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                String line = lines.get(i);
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                try {
+                    chunk.scores.add(format.parse(line, objectMapper));
+                } catch (IOException | RuntimeException e) {
+                    chunk.rejected++;
+                    if (chunk.errors.size() < MAX_REPORTED_ERRORS) {
+                        String message = e instanceof JsonProcessingException ? ((JsonProcessingException) e).getOriginalMessage() : e.getMessage();
+                        chunk.errors.add("line " + (firstLine + i) + ": " + message);
+                    }
+                }
+            }
+            return chunk;
+        }
+    }
+
+    private static final class ParsedChunk {
+
+        private final List<ScoreUsernameTimestamp> scores;
+        private final List<String> errors = new ArrayList<>();
+        private int rejected;
+
+        private ParsedChunk(int size) {
+            this.scores = new ArrayList<>(size);
+        }
+    }
+
+    private static final class Totals {
+
+        private final List<String> errors = new ArrayList<>();
+        private long imported;
+        private long rejected;
+    }
+}
@@ -0,0 +1,32 @@
+package pact.producer.controller;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import pact.producer.dto.HotKey;
+import pact.producer.dto.ScoreMetricsSummary;
+import pact.producer.handler.HotKeyCombiner;
+import pact.producer.metrics.ScoreMetrics;
+
+@RestController
+@RequestMapping("/metrics")
+public class MetricsController {
+
+    @Autowired
+    private ScoreMetrics scoreMetrics;
+
+    @Autowired
+    private HotKeyCombiner hotKeyCombiner;
+
+    @GetMapping(path = "/scores")
+    ScoreMetricsSummary getScoreMetrics() {
+        return scoreMetrics.summarize();
+    }
+
+    @GetMapping(path = "/scores/hot-keys")
+    List<HotKey> getHotKeys() {
+        return hotKeyCombiner.getHotKeys();
+    }
+}
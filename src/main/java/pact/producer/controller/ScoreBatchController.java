@@ -0,0 +1,25 @@
+package pact.producer.controller;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import pact.producer.dto.ScoreOperation;
+import pact.producer.dto.ScoreOperationResult;
+import pact.producer.shard.ScoreRouter;
+
+@RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class ScoreBatchController {
+
+    @Autowired
+    private ScoreRouter scoreRouter;
+
+    @PostMapping("/api/v1/scores:batch")
+    List<ScoreOperationResult> applyBatch(@RequestBody List<ScoreOperation> operations) {
+        return scoreRouter.applyBatch(operations);
+    }
+}
@@ -0,0 +1,62 @@
+package pact.producer.controller;
+
+import static pact.producer.controller.ScoreController.APPLICATION_NDJSON_VALUE;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import pact.producer.bulk.ScoreExporter;
+import pact.producer.bulk.ScoreFormat;
+import pact.producer.bulk.ScoreImporter;
+import pact.producer.dto.ScoreImportResult;
+import pact.producer.shard.ScoreRouter;
+
+@RestController
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class ScoreBulkController {
+
+    static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final String IMPORT_PATH = "/api/v1/scores:import";
+    private static final String EXPORT_PATH = "/api/v1/scores:export";
+
+    @Autowired
+    private ScoreImporter scoreImporter;
+
+    @Autowired
+    private ScoreExporter scoreExporter;
+
+    @Autowired
+    private ScoreRouter scoreRouter;
+
+    @PostMapping(path = IMPORT_PATH, consumes = APPLICATION_NDJSON_VALUE)
+    ScoreImportResult importNdjson(InputStream body) throws IOException {
+        scoreRouter.requireUnsharded("Importing");
+        return scoreImporter.importScores(body, ScoreFormat.NDJSON);
+    }
+
+    @PostMapping(path = IMPORT_PATH, consumes = TEXT_CSV_VALUE)
+    ScoreImportResult importCsv(InputStream body) throws IOException {
+        scoreRouter.requireUnsharded("Importing");
+        return scoreImporter.importScores(body, ScoreFormat.CSV);
+    }
+
+    @GetMapping(path = EXPORT_PATH, produces = APPLICATION_NDJSON_VALUE)
+    StreamingResponseBody exportNdjson() {
+        scoreRouter.requireUnsharded("Exporting");
+        return outputStream -> scoreExporter.exportScores(Channels.newChannel(outputStream), ScoreFormat.NDJSON);
+    }
+
+    @GetMapping(path = EXPORT_PATH, produces = TEXT_CSV_VALUE)
+    StreamingResponseBody exportCsv() {
+        scoreRouter.requireUnsharded("Exporting");
+        return outputStream -> scoreExporter.exportScores(Channels.newChannel(outputStream), ScoreFormat.CSV);
+    }
+}
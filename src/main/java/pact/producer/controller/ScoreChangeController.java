@@ -0,0 +1,87 @@
+package pact.producer.controller;
+
+import java.io.IOException;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import pact.producer.dto.ScoreChangeEvent;
+import pact.producer.exception.FeatureUnavailableException;
+import pact.producer.feed.ScoreChangeFeed;
+import pact.producer.feed.ScoreChangeFeed.Subscription;
+import pact.producer.feed.ScoreChangeSubscriber;
+
+@RestController
+@RequestMapping("/api/v1/scores")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class ScoreChangeController {
+
+    static final String RESET_EVENT = "reset";
+
+    @Autowired(required = false)
+    private ScoreChangeFeed scoreChangeFeed;
+
+    @Value("${scores.changes.timeout-ms:300000}")
+    private long timeoutMs;
+
+    /**
+     * Streams the score changes following {@code since}, or following {@code Last-Event-ID} when a
+     * client reconnects, or from now on. A {@value #RESET_EVENT} event ends the stream when the
+     * requested changes are no longer buffered; the client should then reload all the scores.
+     * Returns a 501 unless {@code scores.changes.enabled} is set.
+     */
+    @GetMapping(path = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    SseEmitter streamChanges(@RequestParam(name = "since", required = false) Long since,
+                             @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        if (scoreChangeFeed == null) {
+            throw new FeatureUnavailableException("The change feed is disabled");
+        }
+        long after = lastEventId != null ? lastEventId : since != null ? since : scoreChangeFeed.getLastSequence();
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscription subscription = scoreChangeFeed.subscribe(after, new EmitterSubscriber(emitter));
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        return emitter;
+    }
+
+    private static final class EmitterSubscriber implements ScoreChangeSubscriber {
+
+        private final SseEmitter emitter;
+
+        private EmitterSubscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void send(List<ScoreChangeEvent> events) throws IOException {
+            for (ScoreChangeEvent event : events) {
+                emitter.send(SseEmitter.event()
+                    .id(Long.toString(event.getSequence()))
+                    .data(event, MediaType.APPLICATION_JSON));
+            }
+        }
+
+        @Override
+        public void overrun() {
+            try {
+                emitter.send(SseEmitter.event().name(RESET_EVENT).data(""));
+                emitter.complete();
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+        }
+
+        @Override
+        public void failed(Exception cause) {
+            emitter.completeWithError(cause);
+        }
+    }
+}
@@ -2,57 +2,209 @@ package pact.producer.controller;
 
 import static org.springframework.http.HttpStatus.ACCEPTED;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
 import java.util.Collection;
+import java.util.List;
 import javax.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import pact.producer.converter.ScoreBinaryHttpMessageConverter;
+import pact.producer.dto.ScorePatch;
+import pact.producer.dto.ScoreRank;
+import pact.producer.dto.ScoreStats;
 import pact.producer.dto.ScoreUsername;
 import pact.producer.dto.ScoreUsernameTimestamp;
 import pact.producer.exception.DuplicatedScoreException;
+import pact.producer.exception.FeatureUnavailableException;
+import pact.producer.exception.ScoreConflictException;
 import pact.producer.exception.UserNotFoundException;
 import pact.producer.handler.ScoreHandler;
+import pact.producer.history.ScoreHistory;
+import pact.producer.shard.ScoreRouter;
 
 @RestController
 @RequestMapping("/api/v1/scores")
+@ConditionalOnWebApplication(type = Type.SERVLET)
 public class ScoreController {
 
+    static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     @Autowired
     private ScoreHandler scoreHandler;
 
+    @Autowired
+    private ScoreRouter scoreRouter;
+
+    @Autowired(required = false)
+    private ScoreHistory scoreHistory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private volatile CachedScores cachedScores;
+
+    /**
+     * The ETag is the store version, so a client that is up to date gets a 304 without the scores
+     * being read. The serialized list is kept for the current version and reused until the next write.
+     * While a write is in progress the version may not match the scores yet, so the list is sent
+     * without an ETag. When sharded, the scores are gathered from all the shards on every request
+     * instead.
+     */
     @GetMapping
-    Collection<ScoreUsernameTimestamp> getAllScores() {
-        return scoreHandler.getAllScores();
+    ResponseEntity<byte[]> getAllScores(WebRequest request) throws JsonProcessingException {
+        if (scoreRouter.isSharded()) {
+            byte[] body = objectMapper.writeValueAsBytes(scoreRouter.getAllScores());
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON_UTF8).body(body);
+        }
+        long version = scoreHandler.getSettledVersion();
+        if (version < 0) {
+            byte[] body = objectMapper.writeValueAsBytes(scoreHandler.getAllScores());
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON_UTF8).body(body);
+        }
+        if (request.checkNotModified(ScoreHandler.etag(version))) {
+            return null;
+        }
+        CachedScores cached = cachedScores;
+        byte[] body;
+        if (cached != null && cached.version == version) {
+            body = cached.body;
+        } else {
+            body = objectMapper.writeValueAsBytes(scoreHandler.getAllScores());
+            // version 0 means nothing was ever written; only cache a body that no write raced with
+            if (version != 0 && scoreHandler.getVersion() == version) {
+                cachedScores = new CachedScores(version, body);
+            }
+        }
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON_UTF8).body(body);
+    }
+
+    @GetMapping(produces = ScoreBinaryHttpMessageConverter.APPLICATION_SCORE_BINARY_VALUE)
+    Collection<ScoreUsernameTimestamp> getAllScoresBinary() {
+        return scoreRouter.getAllScores();
+    }
+
+    @GetMapping(params = {"limit", "!updatedSince", "!prefix"})
+    List<ScoreUsernameTimestamp> getScoresPage(@RequestParam(name = "after", required = false) String after,
+                                               @RequestParam("limit") int limit) {
+        return scoreHandler.getScoresAfter(after, limit);
+    }
+
+    @GetMapping(params = "updatedSince")
+    List<ScoreUsernameTimestamp> getScoresUpdatedSince(@RequestParam("updatedSince") Instant since,
+                                                       @RequestParam(name = "limit", defaultValue = "" + ScoreHandler.MAX_PAGE_SIZE) int limit) {
+        return scoreHandler.getScoresUpdatedSince(since, limit);
+    }
+
+    @GetMapping(params = {"prefix", "!updatedSince"})
+    List<ScoreUsernameTimestamp> getScoresWithPrefix(@RequestParam("prefix") String prefix,
+                                                     @RequestParam(name = "limit", defaultValue = "" + ScoreHandler.MAX_PAGE_SIZE) int limit) {
+        return scoreHandler.getScoresWithPrefix(prefix, limit);
+    }
+
+    @GetMapping(produces = APPLICATION_NDJSON_VALUE)
+    StreamingResponseBody streamAllScores() {
+        Collection<ScoreUsernameTimestamp> scores = scoreRouter.getAllScores();
+        return outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            for (ScoreUsernameTimestamp score : scores) {
+                generator.writeObject(score);
+                generator.writeRaw('\n');
+            }
+            generator.close();
+        };
     }
 
     @GetMapping(path = "/{name}")
-    ScoreUsernameTimestamp getScore(@PathVariable ("name") String name) throws UserNotFoundException {
-        return scoreHandler.getScore(name);
+    ResponseEntity<ScoreUsernameTimestamp> getScore(@PathVariable ("name") String name, WebRequest request) throws UserNotFoundException {
+        ScoreUsernameTimestamp score = scoreRouter.shardFor(name).getScore(name);
+        // scores of remote shards come without a version
+        if (score.getVersion() != 0 && request.checkNotModified(ScoreHandler.etag(score.getVersion()))) {
+            return null;
+        }
+        return ResponseEntity.ok(score);
+    }
+
+    @GetMapping(path = "/top")
+    List<ScoreUsernameTimestamp> getTopScores(@RequestParam(name = "n", defaultValue = "10") int count) {
+        return scoreRouter.getTopScores(count);
+    }
+
+    @GetMapping(path = "/{name}/rank")
+    ScoreRank getRank(@PathVariable ("name") String name) throws UserNotFoundException {
+        scoreRouter.requireUnsharded("Ranking");
+        return scoreHandler.getRank(name);
+    }
+
+    @GetMapping(path = "/stats")
+    ScoreStats getStats() {
+        scoreRouter.requireUnsharded("Score statistics");
+        return scoreHandler.getStats();
+    }
+
+    @GetMapping(path = "/{name}/history")
+    List<ScoreUsernameTimestamp> getHistory(@PathVariable ("name") String name,
+                                            @RequestParam(name = "from", required = false) Instant from,
+                                            @RequestParam(name = "to", required = false) Instant to) throws UserNotFoundException {
+        if (scoreHistory == null) {
+            throw new FeatureUnavailableException("Score history is disabled");
+        }
+        scoreRouter.requireUnsharded("Score history");
+        return scoreHistory.getHistory(name, from, to);
     }
 
     @PostMapping
     @ResponseStatus(ACCEPTED)
     void createScore(@Valid @RequestBody ScoreUsername scoreUsername) throws DuplicatedScoreException {
-        scoreHandler.createScore(scoreUsername.getName(), scoreUsername.getScore());
+        scoreRouter.shardFor(scoreUsername.getName()).createScore(scoreUsername.getName(), scoreUsername.getScore());
 
     }
 
     @PutMapping("/{name}")
     @ResponseStatus(ACCEPTED)
     void updateScore(@PathVariable ("name") String name, @RequestBody int score) throws UserNotFoundException {
-        scoreHandler.updateScore(name, score);
+        scoreRouter.shardFor(name).updateScore(name, score);
+    }
+
+    @PatchMapping("/{name}")
+    ScoreUsernameTimestamp patchScore(@PathVariable ("name") String name, @Valid @RequestBody ScorePatch patch) throws UserNotFoundException, ScoreConflictException {
+        return scoreRouter.shardFor(name).patchScore(name, patch);
     }
 
     @DeleteMapping("/{name}")
     @ResponseStatus(ACCEPTED)
     void deleteScore(@PathVariable ("name") String name) throws UserNotFoundException {
-        scoreHandler.deleteScore(name);
+        scoreRouter.shardFor(name).deleteScore(name);
+    }
+
+    private static final class CachedScores {
+
+        private final long version;
+        private final byte[] body;
+
+        private CachedScores(long version, byte[] body) {
+            this.version = version;
+            this.body = body;
+        }
     }
 }
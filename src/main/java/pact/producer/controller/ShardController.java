@@ -0,0 +1,87 @@
+package pact.producer.controller;
+
+import static org.springframework.http.HttpStatus.ACCEPTED;
+
+import java.util.Collection;
+import java.util.List;
+import javax.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import pact.producer.dto.ScoreOperation;
+import pact.producer.dto.ScoreOperationResult;
+import pact.producer.dto.ScorePatch;
+import pact.producer.dto.ScoreUsername;
+import pact.producer.dto.ScoreUsernameTimestamp;
+import pact.producer.exception.DuplicatedScoreException;
+import pact.producer.exception.ScoreConflictException;
+import pact.producer.exception.UserNotFoundException;
+import pact.producer.handler.ScoreHandler;
+
+/**
+ * The local shard of this node, for the other nodes of a sharded cluster. Requests are never
+ * routed further. Only registered when sharding is configured, behind the ShardAccessFilter.
+ */
+@RestController
+@RequestMapping("/internal/v1/scores")
+@ConditionalOnProperty(name = "scores.sharding.nodes")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class ShardController {
+
+    @Autowired
+    private ScoreHandler scoreHandler;
+
+    @GetMapping
+    Collection<ScoreUsernameTimestamp> getAllScores() {
+        return scoreHandler.getAllScores();
+    }
+
+    @GetMapping(path = "/top")
+    List<ScoreUsernameTimestamp> getTopScores(@RequestParam("n") int count) {
+        return scoreHandler.getTopScores(count);
+    }
+
+    @GetMapping(path = "/{name}")
+    ScoreUsernameTimestamp getScore(@PathVariable ("name") String name) throws UserNotFoundException {
+        return scoreHandler.getScore(name);
+    }
+
+    @PostMapping
+    @ResponseStatus(ACCEPTED)
+    void createScore(@Valid @RequestBody ScoreUsername scoreUsername) throws DuplicatedScoreException {
+        scoreHandler.createScore(scoreUsername.getName(), scoreUsername.getScore());
+    }
+
+    @PutMapping("/{name}")
+    @ResponseStatus(ACCEPTED)
+    void updateScore(@PathVariable ("name") String name, @RequestBody int score) throws UserNotFoundException {
+        scoreHandler.updateScore(name, score);
+    }
+
+    @PostMapping("/{name}/patch")
+    ScoreUsernameTimestamp patchScore(@PathVariable ("name") String name, @Valid @RequestBody ScorePatch patch) throws UserNotFoundException, ScoreConflictException {
+        return scoreHandler.patchScore(name, patch);
+    }
+
+    @PostMapping("/batch")
+    List<ScoreOperationResult> applyBatch(@RequestBody List<ScoreOperation> operations) {
+        return scoreHandler.applyBatch(operations);
+    }
+
+    @DeleteMapping("/{name}")
+    @ResponseStatus(ACCEPTED)
+    void deleteScore(@PathVariable ("name") String name) throws UserNotFoundException {
+        scoreHandler.deleteScore(name);
+    }
+}
@@ -0,0 +1,29 @@
+package pact.producer.converter;
+
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class MessageConverterConfiguration implements WebMvcConfigurer {
+
+    /**
+     * The binary converter comes after the JSON one, so that JSON stays the default for clients
+     * that accept either. The fast JSON reader comes first, falling back to the JSON converter.
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ScoreBinaryHttpMessageConverter());
+        for (HttpMessageConverter<?> converter : converters) {
+            if (converter instanceof MappingJackson2HttpMessageConverter) {
+                converters.add(0, new ScoreJsonHttpMessageConverter((MappingJackson2HttpMessageConverter) converter));
+                return;
+            }
+        }
+    }
+}
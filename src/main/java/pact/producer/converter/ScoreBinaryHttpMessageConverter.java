@@ -0,0 +1,166 @@
+package pact.producer.converter;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Collection;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import pact.producer.dto.ScoreUsername;
+import pact.producer.dto.ScoreUsernameTimestamp;
+
+/**
+ * Compact binary representation of the scores, as a sequence of big-endian records each prefixed
+ * with its length:
+ * <ul>
+ * <li>a score is {@code [score:int][epochSecond:long][nano:int][name:UTF-8]}, with a nano of -1
+ * when there is no timestamp, and a collection of scores is a sequence of such records;</li>
+ * <li>a new score is {@code [score:int][name:UTF-8]};</li>
+ * <li>a score update is {@code [score:int]}.</li>
+ * </ul>
+ * Records are encoded straight into a buffer that is written to the response as it fills up.
+ */
+public class ScoreBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final String APPLICATION_SCORE_BINARY_VALUE = "application/x-score-binary";
+    public static final MediaType APPLICATION_SCORE_BINARY = MediaType.valueOf(APPLICATION_SCORE_BINARY_VALUE);
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_RECORD_SIZE = 64 * 1024;
+    private static final int SCORE_HEADER_SIZE = 16;
+    private static final int NO_TIMESTAMP = -1;
+
+    public ScoreBinaryHttpMessageConverter() {
+        super(APPLICATION_SCORE_BINARY);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return isReadable(clazz) || clazz == ScoreUsernameTimestamp.class;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return isReadable(clazz) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return type instanceof Class && canRead((Class<?>) type, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return clazz == ScoreUsernameTimestamp.class && canWrite(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return (clazz == ScoreUsernameTimestamp.class || isScoreCollection(type)) && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return readInternal((Class<?>) type, inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        ByteBuffer record = readRecord(new DataInputStream(inputMessage.getBody()));
+        try {
+            int score = record.getInt();
+            if (clazz == ScoreUsername.class) {
+                return new ScoreUsername(StandardCharsets.UTF_8.decode(record).toString(), score);
+            }
+            return score;
+        } catch (RuntimeException e) {
+            throw new HttpMessageNotReadableException("Malformed score record: " + e);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream body = outputMessage.getBody();
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        if (value instanceof ScoreUsernameTimestamp) {
+            buffer = write((ScoreUsernameTimestamp) value, buffer, body);
+        } else {
+            for (Object score : (Collection<?>) value) {
+                buffer = write((ScoreUsernameTimestamp) score, buffer, body);
+            }
+        }
+        body.write(buffer.array(), 0, buffer.position());
+    }
+
+    private static ByteBuffer write(ScoreUsernameTimestamp score, ByteBuffer buffer, OutputStream body) throws IOException {
+        String name = score.getName();
+        byte[] nameBytes = isAscii(name) ? null : name.getBytes(StandardCharsets.UTF_8);
+        int recordSize = SCORE_HEADER_SIZE + (nameBytes == null ? name.length() : nameBytes.length);
+        if (buffer.remaining() < 4 + recordSize) {
+            body.write(buffer.array(), 0, buffer.position());
+            buffer.clear();
+            if (buffer.capacity() < 4 + recordSize) {
+                buffer = ByteBuffer.allocate(4 + recordSize);
+            }
+        }
+        buffer.putInt(recordSize);
+        buffer.putInt(score.getScore());
+        Instant timestamp = score.getTimestamp();
+        buffer.putLong(timestamp == null ? 0 : timestamp.getEpochSecond());
+        buffer.putInt(timestamp == null ? NO_TIMESTAMP : timestamp.getNano());
+        if (nameBytes == null) {
+            for (int i = 0; i < name.length(); i++) {
+                buffer.put((byte) name.charAt(i));
+            }
+        } else {
+            buffer.put(nameBytes);
+        }
+        return buffer;
+    }
+
+    private static ByteBuffer readRecord(DataInputStream input) throws IOException {
+        try {
+            int recordSize = input.readInt();
+            if (recordSize < 4 || recordSize > MAX_RECORD_SIZE) {
+                throw new HttpMessageNotReadableException("Invalid score record size: " + recordSize);
+            }
+            byte[] record = new byte[recordSize];
+            input.readFully(record);
+            return ByteBuffer.wrap(record);
+        } catch (EOFException e) {
+            throw new HttpMessageNotReadableException("Truncated score record");
+        }
+    }
+
+    private static boolean isAscii(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isReadable(Class<?> clazz) {
+        return clazz == ScoreUsername.class || clazz == Integer.class || clazz == int.class;
+    }
+
+    private static boolean isScoreCollection(Type type) {
+        if (!(type instanceof ParameterizedType)) {
+            return false;
+        }
+        ParameterizedType parameterizedType = (ParameterizedType) type;
+        return parameterizedType.getRawType() instanceof Class
+            && Collection.class.isAssignableFrom((Class<?>) parameterizedType.getRawType())
+            && parameterizedType.getActualTypeArguments()[0] == ScoreUsernameTimestamp.class;
+    }
+}
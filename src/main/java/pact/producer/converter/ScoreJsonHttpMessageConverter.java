@@ -0,0 +1,216 @@
+package pact.producer.converter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import pact.producer.dto.ScoreUsername;
+
+/**
+ * Reads the JSON score update ({@code 123}) and new score ({@code {"name":"john","score":123}})
+ * request bodies straight from their bytes, without a parser, a token tree or a deserializer
+ * lookup. Only the plain form of these bodies is handled: an in-range integer, and an object with
+ * exactly those two fields whose name is ASCII without escapes. Anything else, including malformed
+ * input, is handed to the Jackson converter, so the accepted bodies and the error messages do not
+ * change.
+ */
+public class ScoreJsonHttpMessageConverter implements HttpMessageConverter<Object> {
+
+    private static final int MAX_BODY_SIZE = 256;
+    private static final List<MediaType> SUPPORTED_MEDIA_TYPES =
+        Collections.unmodifiableList(Arrays.asList(MediaType.APPLICATION_JSON, new MediaType("application", "*+json")));
+
+    private final MappingJackson2HttpMessageConverter jacksonConverter;
+
+    public ScoreJsonHttpMessageConverter(MappingJackson2HttpMessageConverter jacksonConverter) {
+        this.jacksonConverter = jacksonConverter;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        if (clazz != ScoreUsername.class && clazz != Integer.class && clazz != int.class) {
+            return false;
+        }
+        return mediaType == null || SUPPORTED_MEDIA_TYPES.stream().anyMatch(supported -> supported.includes(mediaType));
+    }
+
+    /**
+     * Returns {@code false}: responses are left to the Jackson converter.
+     */
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return SUPPORTED_MEDIA_TYPES;
+    }
+
+    @Override
+    public Object read(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        InputStream body = inputMessage.getBody();
+        byte[] bytes = new byte[MAX_BODY_SIZE];
+        int length = 0;
+        int read;
+        while (length < bytes.length && (read = body.read(bytes, length, bytes.length - length)) != -1) {
+            length += read;
+        }
+        Object value = null;
+        if (length < bytes.length && isAsciiCompatible(inputMessage.getHeaders().getContentType())) {
+            Cursor cursor = new Cursor(bytes, length);
+            value = clazz == ScoreUsername.class ? cursor.readScoreUsername() : cursor.readScore();
+        }
+        if (value != null) {
+            return value;
+        }
+        InputStream buffered = new ByteArrayInputStream(bytes, 0, length);
+        return jacksonConverter.read(clazz, replay(inputMessage.getHeaders(), length < bytes.length ? buffered : new SequenceInputStream(buffered, body)));
+    }
+
+    @Override
+    public void write(Object value, MediaType contentType, HttpOutputMessage outputMessage) {
+        throw new HttpMessageNotWritableException("ScoreJsonHttpMessageConverter only reads request bodies");
+    }
+
+    private static boolean isAsciiCompatible(MediaType contentType) {
+        Charset charset = contentType == null ? null : contentType.getCharset();
+        return charset == null || charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Wraps the body in a {@link PushbackInputStream} like Spring does before calling the
+     * converters, which Jackson names as the source in its error messages.
+     */
+    private static HttpInputMessage replay(HttpHeaders headers, InputStream body) {
+        return new HttpInputMessage() {
+            @Override
+            public InputStream getBody() {
+                return new PushbackInputStream(body);
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+
+    /**
+     * Reads the plain forms of the bodies; every method returns {@code null} on anything else.
+     */
+    private static final class Cursor {
+
+        private final byte[] bytes;
+        private final int end;
+        private int position;
+
+        private Cursor(byte[] bytes, int end) {
+            this.bytes = bytes;
+            this.end = end;
+        }
+
+        Integer readScore() {
+            Integer score = readInt();
+            return score != null && atEnd() ? score : null;
+        }
+
+        ScoreUsername readScoreUsername() {
+            if (!consume('{')) {
+                return null;
+            }
+            String name = null;
+            Integer score = null;
+            for (int i = 0; i < 2; i++) {
+                if (i > 0 && !consume(',')) {
+                    return null;
+                }
+                String field = readString();
+                if (field == null || !consume(':')) {
+                    return null;
+                }
+                if (field.equals("name") && name == null) {
+                    name = readString();
+                } else if (field.equals("score") && score == null) {
+                    score = readInt();
+                } else {
+                    return null;
+                }
+            }
+            return name != null && score != null && consume('}') && atEnd() ? new ScoreUsername(name, score) : null;
+        }
+
+        private Integer readInt() {
+            skipWhitespace();
+            boolean negative = position < end && bytes[position] == '-';
+            if (negative) {
+                position++;
+            }
+            int start = position;
+            long value = 0;
+            while (position < end && bytes[position] >= '0' && bytes[position] <= '9') {
+                value = value * 10 + (bytes[position++] - '0');
+                if (value > 1L << 31) {
+                    return null;
+                }
+            }
+            int digits = position - start;
+            if (digits == 0 || (digits > 1 && bytes[start] == '0')
+                || (position < end && (bytes[position] == '.' || bytes[position] == 'e' || bytes[position] == 'E'))) {
+                return null;
+            }
+            value = negative ? -value : value;
+            return value == (int) value ? (int) value : null;
+        }
+
+        private String readString() {
+            if (!consume('"')) {
+                return null;
+            }
+            int start = position;
+            for (; position < end; position++) {
+                byte b = bytes[position];
+                if (b == '"') {
+                    return new String(bytes, start, position++ - start, StandardCharsets.ISO_8859_1);
+                }
+                if (b == '\\' || b < 0x20) {
+                    return null;
+                }
+            }
+            return null;
+        }
+
+        private boolean consume(char c) {
+            skipWhitespace();
+            if (position < end && bytes[position] == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private boolean atEnd() {
+            skipWhitespace();
+            return position == end;
+        }
+
+        private void skipWhitespace() {
+            while (position < end && (bytes[position] == ' ' || bytes[position] == '\t' || bytes[position] == '\n' || bytes[position] == '\r')) {
+                position++;
+            }
+        }
+    }
+}
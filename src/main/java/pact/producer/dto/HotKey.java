@@ -0,0 +1,48 @@
+package pact.producer.dto;
+
+import java.util.Objects;
+
+public class HotKey {
+
+    private final String name;
+    private final long writesPerSecond;
+
+    public HotKey(String name, long writesPerSecond) {
+        this.name = name;
+        this.writesPerSecond = writesPerSecond;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getWritesPerSecond() {
+        return writesPerSecond;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        HotKey that = (HotKey) o;
+        return writesPerSecond == that.writesPerSecond &&
+            Objects.equals(name, that.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, writesPerSecond);
+    }
+
+    @Override
+    public String toString() {
+        return "HotKey{" +
+            "name='" + name + '\'' +
+            ", writesPerSecond=" + writesPerSecond +
+            '}';
+    }
+}
@@ -0,0 +1,72 @@
+package pact.producer.dto;
+
+import java.util.Objects;
+
+public class LatencySummary {
+
+    private final long count;
+    private final long p50Nanos;
+    private final long p99Nanos;
+    private final long p999Nanos;
+    private final long maxNanos;
+
+    public LatencySummary(long count, long p50Nanos, long p99Nanos, long p999Nanos, long maxNanos) {
+        this.count = count;
+        this.p50Nanos = p50Nanos;
+        this.p99Nanos = p99Nanos;
+        this.p999Nanos = p999Nanos;
+        this.maxNanos = maxNanos;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getP50Nanos() {
+        return p50Nanos;
+    }
+
+    public long getP99Nanos() {
+        return p99Nanos;
+    }
+
+    public long getP999Nanos() {
+        return p999Nanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LatencySummary that = (LatencySummary) o;
+        return count == that.count &&
+            p50Nanos == that.p50Nanos &&
+            p99Nanos == that.p99Nanos &&
+            p999Nanos == that.p999Nanos &&
+            maxNanos == that.maxNanos;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(count, p50Nanos, p99Nanos, p999Nanos, maxNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "LatencySummary{" +
+            "count=" + count +
+            ", p50Nanos=" + p50Nanos +
+            ", p99Nanos=" + p99Nanos +
+            ", p999Nanos=" + p999Nanos +
+            ", maxNanos=" + maxNanos +
+            '}';
+    }
+}
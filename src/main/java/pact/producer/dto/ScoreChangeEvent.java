@@ -0,0 +1,81 @@
+package pact.producer.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.Instant;
+import java.util.Objects;
+import pact.producer.dto.ScoreOperation.Type;
+
+@JsonInclude(Include.NON_NULL)
+public class ScoreChangeEvent {
+
+    private final long sequence;
+    private final Type type;
+    private final String name;
+    private final Integer score;
+    private final Instant timestamp;
+
+    @JsonCreator
+    public ScoreChangeEvent(@JsonProperty("sequence") long sequence, @JsonProperty("type") Type type, @JsonProperty("name") String name,
+                            @JsonProperty("score") Integer score, @JsonProperty("timestamp") Instant timestamp) {
+        this.sequence = sequence;
+        this.type = type;
+        this.name = name;
+        this.score = score;
+        this.timestamp = timestamp;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Integer getScore() {
+        return score;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ScoreChangeEvent that = (ScoreChangeEvent) o;
+        return sequence == that.sequence &&
+            type == that.type &&
+            Objects.equals(name, that.name) &&
+            Objects.equals(score, that.score) &&
+            Objects.equals(timestamp, that.timestamp);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sequence, type, name, score, timestamp);
+    }
+
+    @Override
+    public String toString() {
+        return "ScoreChangeEvent{" +
+            "sequence=" + sequence +
+            ", type=" + type +
+            ", name='" + name + '\'' +
+            ", score=" + score +
+            ", timestamp=" + timestamp +
+            '}';
+    }
+}
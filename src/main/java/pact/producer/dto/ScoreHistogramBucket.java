@@ -0,0 +1,56 @@
+package pact.producer.dto;
+
+import java.util.Objects;
+
+public class ScoreHistogramBucket {
+
+    private final int from;
+    private final int to;
+    private final long count;
+
+    public ScoreHistogramBucket(int from, int to, long count) {
+        this.from = from;
+        this.to = to;
+        this.count = count;
+    }
+
+    public int getFrom() {
+        return from;
+    }
+
+    public int getTo() {
+        return to;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ScoreHistogramBucket that = (ScoreHistogramBucket) o;
+        return from == that.from &&
+            to == that.to &&
+            count == that.count;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(from, to, count);
+    }
+
+    @Override
+    public String toString() {
+        return "ScoreHistogramBucket{" +
+            "from=" + from +
+            ", to=" + to +
+            ", count=" + count +
+            '}';
+    }
+}
@@ -0,0 +1,57 @@
+package pact.producer.dto;
+
+import java.util.List;
+import java.util.Objects;
+
+public class ScoreImportResult {
+
+    private final long imported;
+    private final long rejected;
+    private final List<String> errors;
+
+    public ScoreImportResult(long imported, long rejected, List<String> errors) {
+        this.imported = imported;
+        this.rejected = rejected;
+        this.errors = errors;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ScoreImportResult that = (ScoreImportResult) o;
+        return imported == that.imported &&
+            rejected == that.rejected &&
+            Objects.equals(errors, that.errors);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(imported, rejected, errors);
+    }
+
+    @Override
+    public String toString() {
+        return "ScoreImportResult{" +
+            "imported=" + imported +
+            ", rejected=" + rejected +
+            ", errors=" + errors +
+            '}';
+    }
+}
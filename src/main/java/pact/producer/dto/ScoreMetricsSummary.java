@@ -0,0 +1,73 @@
+package pact.producer.dto;
+
+import java.util.Map;
+import java.util.Objects;
+
+public class ScoreMetricsSummary {
+
+    private final Map<String, LatencySummary> operations;
+    private final long misses;
+    private final long duplicates;
+    private final long expirations;
+    private final long evictions;
+
+    public ScoreMetricsSummary(Map<String, LatencySummary> operations, long misses, long duplicates, long expirations, long evictions) {
+        this.operations = operations;
+        this.misses = misses;
+        this.duplicates = duplicates;
+        this.expirations = expirations;
+        this.evictions = evictions;
+    }
+
+    public Map<String, LatencySummary> getOperations() {
+        return operations;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ScoreMetricsSummary that = (ScoreMetricsSummary) o;
+        return misses == that.misses &&
+            duplicates == that.duplicates &&
+            expirations == that.expirations &&
+            evictions == that.evictions &&
+            Objects.equals(operations, that.operations);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(operations, misses, duplicates, expirations, evictions);
+    }
+
+    @Override
+    public String toString() {
+        return "ScoreMetricsSummary{" +
+            "operations=" + operations +
+            ", misses=" + misses +
+            ", duplicates=" + duplicates +
+            ", expirations=" + expirations +
+            ", evictions=" + evictions +
+            '}';
+    }
+}
@@ -0,0 +1,63 @@
+package pact.producer.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Objects;
+
+public class ScoreOperation {
+
+    public enum Type {
+        CREATE, UPDATE, DELETE
+    }
+
+    private final Type type;
+    private final String name;
+    private final Integer score;
+
+    @JsonCreator
+    public ScoreOperation(@JsonProperty("type") Type type, @JsonProperty("name") String name, @JsonProperty("score") Integer score) {
+        this.type = type;
+        this.name = name;
+        this.score = score;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Integer getScore() {
+        return score;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ScoreOperation that = (ScoreOperation) o;
+        return type == that.type &&
+            Objects.equals(name, that.name) &&
+            Objects.equals(score, that.score);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, name, score);
+    }
+
+    @Override
+    public String toString() {
+        return "ScoreOperation{" +
+            "type=" + type +
+            ", name='" + name + '\'' +
+            ", score=" + score +
+            '}';
+    }
+}
@@ -0,0 +1,62 @@
+package pact.producer.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Objects;
+
+@JsonInclude(Include.NON_NULL)
+public class ScoreOperationResult {
+
+    private final String name;
+    private final int status;
+    private final String error;
+
+    @JsonCreator
+    public ScoreOperationResult(@JsonProperty("name") String name, @JsonProperty("status") int status, @JsonProperty("error") String error) {
+        this.name = name;
+        this.status = status;
+        this.error = error;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ScoreOperationResult that = (ScoreOperationResult) o;
+        return status == that.status &&
+            Objects.equals(name, that.name) &&
+            Objects.equals(error, that.error);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, status, error);
+    }
+
+    @Override
+    public String toString() {
+        return "ScoreOperationResult{" +
+            "name='" + name + '\'' +
+            ", status=" + status +
+            ", error='" + error + '\'' +
+            '}';
+    }
+}
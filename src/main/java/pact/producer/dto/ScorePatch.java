@@ -0,0 +1,79 @@
+package pact.producer.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.Objects;
+import javax.validation.constraints.AssertTrue;
+import javax.validation.constraints.NotNull;
+
+@JsonInclude(Include.NON_NULL)
+public class ScorePatch {
+
+    public enum Type {
+        INCREMENT, MAX, COMPARE_AND_SET
+    }
+
+    @NotNull
+    private final Type type;
+
+    @NotNull
+    private final Integer value;
+
+    private final Integer expected;
+
+    @JsonCreator
+    public ScorePatch(@JsonProperty("type") Type type, @JsonProperty("value") Integer value, @JsonProperty("expected") Integer expected) {
+        this.type = type;
+        this.value = value;
+        this.expected = expected;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Integer getValue() {
+        return value;
+    }
+
+    public Integer getExpected() {
+        return expected;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "expected is required for COMPARE_AND_SET")
+    public boolean isExpectedGiven() {
+        return type != Type.COMPARE_AND_SET || expected != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ScorePatch that = (ScorePatch) o;
+        return type == that.type &&
+            Objects.equals(value, that.value) &&
+            Objects.equals(expected, that.expected);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, value, expected);
+    }
+
+    @Override
+    public String toString() {
+        return "ScorePatch{" +
+            "type=" + type +
+            ", value=" + value +
+            ", expected=" + expected +
+            '}';
+    }
+}
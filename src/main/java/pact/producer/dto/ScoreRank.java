@@ -0,0 +1,65 @@
+package pact.producer.dto;
+
+import java.time.Instant;
+import java.util.Objects;
+
+public class ScoreRank {
+
+    private final String name;
+    private final int score;
+    private final Instant timestamp;
+    private final int rank;
+
+    public ScoreRank(String name, int score, Instant timestamp, int rank) {
+        this.name = name;
+        this.score = score;
+        this.timestamp = timestamp;
+        this.rank = rank;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ScoreRank that = (ScoreRank) o;
+        return score == that.score &&
+            rank == that.rank &&
+            Objects.equals(name, that.name) &&
+            Objects.equals(timestamp, that.timestamp);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, score, timestamp, rank);
+    }
+
+    @Override
+    public String toString() {
+        return "ScoreRank{" +
+            "name='" + name + '\'' +
+            ", score=" + score +
+            ", timestamp=" + timestamp +
+            ", rank=" + rank +
+            '}';
+    }
+}
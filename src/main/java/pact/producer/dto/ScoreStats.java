@@ -0,0 +1,109 @@
+package pact.producer.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import java.util.List;
+import java.util.Objects;
+
+@JsonInclude(Include.NON_NULL)
+public class ScoreStats {
+
+    private final long count;
+    private final long sum;
+    private final Double mean;
+    private final Integer min;
+    private final Integer max;
+    private final Integer p50;
+    private final Integer p90;
+    private final Integer p99;
+    private final List<ScoreHistogramBucket> histogram;
+
+    public ScoreStats(long count, long sum, Double mean, Integer min, Integer max,
+                      Integer p50, Integer p90, Integer p99, List<ScoreHistogramBucket> histogram) {
+        this.count = count;
+        this.sum = sum;
+        this.mean = mean;
+        this.min = min;
+        this.max = max;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+        this.histogram = histogram;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public Double getMean() {
+        return mean;
+    }
+
+    public Integer getMin() {
+        return min;
+    }
+
+    public Integer getMax() {
+        return max;
+    }
+
+    public Integer getP50() {
+        return p50;
+    }
+
+    public Integer getP90() {
+        return p90;
+    }
+
+    public Integer getP99() {
+        return p99;
+    }
+
+    public List<ScoreHistogramBucket> getHistogram() {
+        return histogram;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ScoreStats that = (ScoreStats) o;
+        return count == that.count &&
+            sum == that.sum &&
+            Objects.equals(mean, that.mean) &&
+            Objects.equals(min, that.min) &&
+            Objects.equals(max, that.max) &&
+            Objects.equals(p50, that.p50) &&
+            Objects.equals(p90, that.p90) &&
+            Objects.equals(p99, that.p99) &&
+            Objects.equals(histogram, that.histogram);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(count, sum, mean, min, max, p50, p90, p99, histogram);
+    }
+
+    @Override
+    public String toString() {
+        return "ScoreStats{" +
+            "count=" + count +
+            ", sum=" + sum +
+            ", mean=" + mean +
+            ", min=" + min +
+            ", max=" + max +
+            ", p50=" + p50 +
+            ", p90=" + p90 +
+            ", p99=" + p99 +
+            ", histogram=" + histogram +
+            '}';
+    }
+}
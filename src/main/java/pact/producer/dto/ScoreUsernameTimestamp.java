@@ -1,5 +1,8 @@
 package pact.producer.dto;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import java.time.Instant;
 
 public class ScoreUsernameTimestamp {
@@ -7,11 +10,18 @@ public class ScoreUsernameTimestamp {
     private final String name;
     private final int score;
     private final Instant timestamp;
+    private final long version;
 
-    public ScoreUsernameTimestamp(String name, int score, Instant timestamp) {
+    @JsonCreator
+    public ScoreUsernameTimestamp(@JsonProperty("name") String name, @JsonProperty("score") int score, @JsonProperty("timestamp") Instant timestamp) {
+        this(name, score, timestamp, 0);
+    }
+
+    public ScoreUsernameTimestamp(String name, int score, Instant timestamp, long version) {
         this.name = name;
         this.score = score;
         this.timestamp = timestamp;
+        this.version = version;
     }
 
     public String getName() {
@@ -26,6 +36,14 @@ public class ScoreUsernameTimestamp {
         return timestamp;
     }
 
+    /**
+     * Store version at which this score was written; not part of the score value.
+     */
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
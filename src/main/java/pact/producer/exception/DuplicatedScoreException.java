@@ -3,6 +3,6 @@ package pact.producer.exception;
 public class DuplicatedScoreException extends Exception {
 
   public DuplicatedScoreException(String msg) {
-    super(msg);
+    super(msg, null, false, false);
   }
 }
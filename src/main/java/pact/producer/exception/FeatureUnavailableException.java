@@ -0,0 +1,12 @@
+package pact.producer.exception;
+
+/**
+ * Thrown for a request the current configuration cannot serve, such as an index query on a store
+ * engine without indexes.
+ */
+public class FeatureUnavailableException extends RuntimeException {
+
+  public FeatureUnavailableException(String msg) {
+    super(msg, null, false, false);
+  }
+}
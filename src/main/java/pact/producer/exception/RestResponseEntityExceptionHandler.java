@@ -1,10 +1,14 @@
 package pact.producer.exception;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.util.BufferRecyclers;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,21 +22,35 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 import static org.springframework.http.HttpStatus.*;
 
 @ControllerAdvice
+@ConditionalOnWebApplication(type = Type.SERVLET)
 public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionHandler {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(RestResponseEntityExceptionHandler.class);
+  private static final ThrottledLogger EXPECTED_ERRORS_LOGGER = new ThrottledLogger(LOGGER, 1, TimeUnit.SECONDS);
+  private static final String ERROR_PREFIX = "{\"error\":\"";
+  private static final String ERROR_SUFFIX = "\"}";
 
   @Autowired
   private ObjectMapper objectMapper;
 
   @ExceptionHandler(UserNotFoundException.class)
   protected ResponseEntity<Object> userNotFound(UserNotFoundException ex, WebRequest request) {
-    return handleExceptionInternal(ex, convertExceptionToJson(ex), new HttpHeaders(), NOT_FOUND, request);
+    return handleExceptionInternal(ex, encodeError(ex.getMessage()), new HttpHeaders(), NOT_FOUND, request);
   }
 
   @ExceptionHandler(DuplicatedScoreException.class)
   protected ResponseEntity<Object> duplicatedUser(DuplicatedScoreException ex, WebRequest request) {
-    return handleExceptionInternal(ex, convertExceptionToJson(ex), new HttpHeaders(), BAD_REQUEST, request);
+    return handleExceptionInternal(ex, encodeError(ex.getMessage()), new HttpHeaders(), BAD_REQUEST, request);
+  }
+
+  @ExceptionHandler(ScoreConflictException.class)
+  protected ResponseEntity<Object> scoreConflict(ScoreConflictException ex, WebRequest request) {
+    return handleExceptionInternal(ex, encodeError(ex.getMessage()), new HttpHeaders(), CONFLICT, request);
+  }
+
+  @ExceptionHandler(FeatureUnavailableException.class)
+  protected ResponseEntity<Object> featureUnavailable(FeatureUnavailableException ex, WebRequest request) {
+    return handleExceptionInternal(ex, encodeError(ex.getMessage()), new HttpHeaders(), NOT_IMPLEMENTED, request);
   }
 
   @ExceptionHandler(Exception.class)
@@ -52,10 +70,22 @@ public class RestResponseEntityExceptionHandler extends ResponseEntityExceptionH
 
   @Override
   protected ResponseEntity<Object> handleExceptionInternal(Exception ex, Object body, HttpHeaders headers, HttpStatus status, WebRequest request) {
-    LOGGER.error("Exception: ", ex);
+    if (ex instanceof UserNotFoundException || ex instanceof DuplicatedScoreException || ex instanceof ScoreConflictException
+        || ex instanceof FeatureUnavailableException) {
+      EXPECTED_ERRORS_LOGGER.warn("Expected exception: {}", ex);
+    } else {
+      LOGGER.error("Exception: ", ex);
+    }
     return super.handleExceptionInternal(ex, body, headers, status, request);
   }
 
+  private static String encodeError(String message) {
+    StringBuilder body = new StringBuilder(ERROR_PREFIX.length() + message.length() + ERROR_SUFFIX.length() + 8);
+    body.append(ERROR_PREFIX);
+    BufferRecyclers.quoteAsJsonText(message, body);
+    return body.append(ERROR_SUFFIX).toString();
+  }
+
   private String convertExceptionToJson(Exception ex) {
     ErrorWrapper errorWrapper = new ErrorWrapper(ex.getMessage());
     try {
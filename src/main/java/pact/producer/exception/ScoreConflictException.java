@@ -0,0 +1,8 @@
+package pact.producer.exception;
+
+public class ScoreConflictException extends Exception {
+
+  public ScoreConflictException(String msg) {
+    super(msg, null, false, false);
+  }
+}
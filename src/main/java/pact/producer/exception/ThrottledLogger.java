@@ -0,0 +1,32 @@
+package pact.producer.exception;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+
+/**
+ * Logs at most one message per interval and counts the ones it drops in between.
+ */
+class ThrottledLogger {
+
+  private final Logger logger;
+  private final long intervalNanos;
+  private final AtomicLong nextLogAt = new AtomicLong(System.nanoTime());
+  private final LongAdder suppressed = new LongAdder();
+
+  ThrottledLogger(Logger logger, long interval, TimeUnit unit) {
+    this.logger = logger;
+    this.intervalNanos = unit.toNanos(interval);
+  }
+
+  void warn(String message, Object argument) {
+    long now = System.nanoTime();
+    long next = nextLogAt.get();
+    if (now - next >= 0 && nextLogAt.compareAndSet(next, now + intervalNanos)) {
+      logger.warn(message + " ({} similar messages suppressed)", argument, suppressed.sumThenReset());
+    } else {
+      suppressed.increment();
+    }
+  }
+}
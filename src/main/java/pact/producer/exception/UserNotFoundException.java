@@ -3,6 +3,6 @@ package pact.producer.exception;
 public class UserNotFoundException extends Exception {
 
   public UserNotFoundException(String msg) {
-    super(msg);
+    super(msg, null, false, false);
   }
 }
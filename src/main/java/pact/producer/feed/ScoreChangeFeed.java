@@ -0,0 +1,230 @@
+package pact.producer.feed;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import pact.producer.dto.ScoreChangeEvent;
+import pact.producer.dto.ScoreOperation.Type;
+import pact.producer.dto.ScoreUsernameTimestamp;
+import pact.producer.handler.ScoreChangeListener;
+
+/**
+ * Sequenced feed of the score mutations, enabled with {@code scores.changes.enabled}. Writers claim
+ * a sequence number and store the event in a ring of the last {@code scores.changes.buffer-size}
+ * events, without taking a lock or waiting for subscribers.
+ *
+ * <p>Every millisecond a dispatcher thread copies the new events into the queue of each
+ * subscriber, bounded to {@code scores.changes.subscriber-queue-size} events, without ever
+ * blocking. Each subscriber's queue is drained by its own sender task, at most one at a time, on a
+ * pool that grows with the subscribers, so a subscriber stuck in a write only holds its own thread.
+ * A subscriber whose queue overflows, or that starts further behind than the ring holds, is
+ * dropped with an overrun once its pending write returns.
+ */
+@Component
+@ConditionalOnProperty(name = "scores.changes.enabled", havingValue = "true")
+public class ScoreChangeFeed implements ScoreChangeListener {
+
+    private static final int BATCH_SIZE = 256;
+    private static final long DISPATCH_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Value("${scores.changes.buffer-size:4096}")
+    private int bufferSize;
+
+    @Value("${scores.changes.subscriber-queue-size:1024}")
+    private int subscriberQueueSize;
+
+    private final AtomicLong sequencer = new AtomicLong();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    private AtomicReferenceArray<ScoreChangeEvent> events;
+    private int mask;
+    private ExecutorService sendExecutor;
+    private Thread dispatcher;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        int capacity = Integer.highestOneBit(Math.max(bufferSize, 2) - 1) << 1;
+        events = new AtomicReferenceArray<>(capacity);
+        mask = capacity - 1;
+        AtomicInteger threads = new AtomicInteger();
+        sendExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "score-changes-sender-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        running = true;
+        dispatcher = new Thread(this::dispatch, "score-changes-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        LockSupport.unpark(dispatcher);
+        sendExecutor.shutdownNow();
+    }
+
+    @Override
+    public void scoreCreated(ScoreUsernameTimestamp created) {
+        append(Type.CREATE, created.getName(), created.getScore(), created.getTimestamp());
+    }
+
+    @Override
+    public void scoreUpdated(ScoreUsernameTimestamp previous, ScoreUsernameTimestamp updated) {
+        append(Type.UPDATE, updated.getName(), updated.getScore(), updated.getTimestamp());
+    }
+
+    @Override
+    public void scoreDeleted(ScoreUsernameTimestamp deleted) {
+        append(Type.DELETE, deleted.getName(), null, null);
+    }
+
+    /**
+     * Returns the sequence number of the latest event.
+     */
+    public long getLastSequence() {
+        return sequencer.get();
+    }
+
+    /**
+     * Returns up to {@code max} events following {@code after}, or {@code null} when some of them
+     * are no longer buffered.
+     */
+    public List<ScoreChangeEvent> read(long after, int max) {
+        long last = sequencer.get();
+        if (after > last || after < 0) {
+            return null;
+        }
+        List<ScoreChangeEvent> read = new ArrayList<>((int) Math.min(max, last - after));
+        for (long sequence = after + 1; sequence <= last && read.size() < max; sequence++) {
+            ScoreChangeEvent event = events.get((int) sequence & mask);
+            if (event == null || event.getSequence() < sequence) {
+                // claimed but not stored yet
+                break;
+            }
+            if (event.getSequence() > sequence) {
+                return null;
+            }
+            read.add(event);
+        }
+        return read;
+    }
+
+    /**
+     * Subscribes to the events following {@code after}.
+     */
+    public Subscription subscribe(long after, ScoreChangeSubscriber subscriber) {
+        Subscription subscription = new Subscription(after, subscriber);
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    private void append(Type type, String name, Integer score, Instant timestamp) {
+        long sequence = sequencer.incrementAndGet();
+        events.set((int) sequence & mask, new ScoreChangeEvent(sequence, type, name, score, timestamp));
+    }
+
+    private void dispatch() {
+        while (running) {
+            for (Subscription subscription : subscriptions) {
+                subscription.enqueue();
+                subscription.schedule();
+            }
+            LockSupport.parkNanos(this, DISPATCH_INTERVAL_NANOS);
+        }
+    }
+
+    public final class Subscription implements Runnable {
+
+        private final ScoreChangeSubscriber subscriber;
+        private final BlockingQueue<ScoreChangeEvent> queue = new ArrayBlockingQueue<>(subscriberQueueSize);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // only read and written by the dispatcher
+        private long enqueued;
+        private volatile boolean overrun;
+        private volatile boolean cancelled;
+
+        private Subscription(long after, ScoreChangeSubscriber subscriber) {
+            this.enqueued = after;
+            this.subscriber = subscriber;
+        }
+
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        /**
+         * Copies the events following the last enqueued one into the queue, as many as fit, and
+         * flags an overrun rather than waiting when there are events to copy but the queue is full.
+         */
+        private void enqueue() {
+            if (cancelled || overrun || enqueued == sequencer.get()) {
+                return;
+            }
+            int room = queue.remainingCapacity();
+            List<ScoreChangeEvent> events = room == 0 ? null : read(enqueued, room);
+            if (events == null) {
+                overrun = true;
+                queue.clear();
+                return;
+            }
+            queue.addAll(events);
+            if (!events.isEmpty()) {
+                enqueued = events.get(events.size() - 1).getSequence();
+            }
+        }
+
+        private void schedule() {
+            if (!cancelled && (overrun || !queue.isEmpty()) && scheduled.compareAndSet(false, true)) {
+                try {
+                    sendExecutor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (overrun) {
+                    cancel();
+                    subscriber.overrun();
+                    return;
+                }
+                List<ScoreChangeEvent> batch = new ArrayList<>(Math.min(queue.size(), BATCH_SIZE));
+                while (!queue.isEmpty()) {
+                    queue.drainTo(batch, BATCH_SIZE);
+                    subscriber.send(batch);
+                    batch.clear();
+                }
+            } catch (Exception e) {
+                cancel();
+                subscriber.failed(e);
+            } finally {
+                scheduled.set(false);
+            }
+        }
+    }
+}
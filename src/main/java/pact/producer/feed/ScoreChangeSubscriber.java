@@ -0,0 +1,24 @@
+package pact.producer.feed;
+
+import java.io.IOException;
+import java.util.List;
+import pact.producer.dto.ScoreChangeEvent;
+
+/**
+ * Receiver of a {@link ScoreChangeFeed} subscription. Calls for one subscriber never overlap.
+ */
+public interface ScoreChangeSubscriber {
+
+    void send(List<ScoreChangeEvent> events) throws IOException;
+
+    /**
+     * Called once, as the last call, when the events after the subscriber's position are no longer
+     * buffered, either because it fell too far behind or because it asked for an unknown sequence.
+     */
+    void overrun();
+
+    /**
+     * Called once, as the last call, when {@link #send} failed.
+     */
+    void failed(Exception cause);
+}
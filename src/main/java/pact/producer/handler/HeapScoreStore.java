@@ -0,0 +1,46 @@
+package pact.producer.handler;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import pact.producer.dto.ScoreUsernameTimestamp;
+
+public class HeapScoreStore implements ScoreStore {
+
+    private final ConcurrentHashMap<String, ScoreUsernameTimestamp> scoreMap;
+
+    public HeapScoreStore(int initialCapacity) {
+        this.scoreMap = new ConcurrentHashMap<>(initialCapacity);
+    }
+
+    @Override
+    public ScoreUsernameTimestamp get(String name) {
+        return scoreMap.get(name);
+    }
+
+    @Override
+    public ScoreUsernameTimestamp computeIfAbsent(String name, Function<String, ScoreUsernameTimestamp> mappingFunction) {
+        return scoreMap.computeIfAbsent(name, mappingFunction);
+    }
+
+    @Override
+    public ScoreUsernameTimestamp computeIfPresent(String name, BiFunction<String, ScoreUsernameTimestamp, ScoreUsernameTimestamp> remappingFunction) {
+        return scoreMap.computeIfPresent(name, remappingFunction);
+    }
+
+    @Override
+    public ScoreUsernameTimestamp compute(String name, BiFunction<String, ScoreUsernameTimestamp, ScoreUsernameTimestamp> remappingFunction) {
+        return scoreMap.compute(name, remappingFunction);
+    }
+
+    @Override
+    public Collection<ScoreUsernameTimestamp> values() {
+        return scoreMap.values();
+    }
+
+    @Override
+    public int size() {
+        return scoreMap.size();
+    }
+}
@@ -0,0 +1,221 @@
+package pact.producer.handler;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pact.producer.dto.HotKey;
+
+/**
+ * Combines concurrent updates of the names that are written most often, when
+ * {@code scores.hot-keys.enabled} is set. One write in
+ * {@code scores.hot-keys.sample-rate} is sampled, and every second the names whose estimated rate
+ * reached {@code scores.hot-keys.threshold} writes per second become hot, staying hot until it
+ * drops below half of that.
+ *
+ * <p>Updates of a hot name are published to a slot instead of each computing on the store: the
+ * writer that gets hold of the slot applies the latest published update once, on behalf of all the
+ * updates it superseded, so a burst of last-writer-wins updates costs one map write. Every update
+ * returns once an update published at or after its own has been applied; meanwhile it spins
+ * briefly, then parks.
+ */
+@Component
+public class HotKeyCombiner {
+
+    private static final long WINDOW_MILLIS = 1000;
+    private static final int MAX_TRACKED_KEYS = 10_000;
+    private static final int WAIT_SPINS = Runtime.getRuntime().availableProcessors() > 1 ? 1 << 8 : 0;
+    private static final long WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(20);
+
+    @Value("${scores.hot-keys.enabled:false}")
+    private boolean enabled;
+
+    @Value("${scores.hot-keys.sample-rate:16}")
+    private int sampleRate;
+
+    @Value("${scores.hot-keys.threshold:1000}")
+    private long threshold;
+
+    private volatile ConcurrentHashMap<String, LongAdder> samples = new ConcurrentHashMap<>();
+    private volatile Set<String> hotKeys = Collections.emptySet();
+    private volatile List<HotKey> report = Collections.emptyList();
+    private final ConcurrentHashMap<String, Slot> slots = new ConcurrentHashMap<>();
+    private ScheduledExecutorService detector;
+
+    interface Writer {
+
+        boolean write(String name, int score, Instant timestamp);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        if (sampleRate < 1) {
+            throw new IllegalStateException("scores.hot-keys.sample-rate must be at least 1, was " + sampleRate);
+        }
+        if (threshold < 1) {
+            throw new IllegalStateException("scores.hot-keys.threshold must be at least 1, was " + threshold);
+        }
+        detector = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "score-hot-key-detector");
+            thread.setDaemon(true);
+            return thread;
+        });
+        detector.scheduleWithFixedDelay(this::detect, WINDOW_MILLIS, WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (detector != null) {
+            detector.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the hot names, most written first, with their write rates estimated over the last
+     * second.
+     */
+    public List<HotKey> getHotKeys() {
+        return report;
+    }
+
+    /**
+     * Updates the score through {@code writer}, combining the update with concurrent ones when the
+     * name is hot. Returns whether the name was found.
+     */
+    boolean update(String name, int score, Instant timestamp, Writer writer) {
+        if (!enabled) {
+            return writer.write(name, score, timestamp);
+        }
+        sample(name);
+        if (!hotKeys.contains(name)) {
+            return writer.write(name, score, timestamp);
+        }
+        return slots.computeIfAbsent(name, Slot::new).update(score, timestamp, writer);
+    }
+
+    private void sample(String name) {
+        if (ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+            return;
+        }
+        ConcurrentHashMap<String, LongAdder> current = samples;
+        LongAdder count = current.get(name);
+        if (count == null) {
+            if (current.size() >= MAX_TRACKED_KEYS) {
+                return;
+            }
+            count = current.computeIfAbsent(name, n -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    void detect() {
+        Map<String, LongAdder> window = samples;
+        samples = new ConcurrentHashMap<>();
+        Set<String> previouslyHot = hotKeys;
+        Set<String> hot = new HashSet<>();
+        List<HotKey> detected = new ArrayList<>();
+        for (Map.Entry<String, LongAdder> entry : window.entrySet()) {
+            long rate = entry.getValue().sum() * sampleRate * 1000 / WINDOW_MILLIS;
+            if (rate >= threshold || (rate >= threshold / 2 && previouslyHot.contains(entry.getKey()))) {
+                hot.add(entry.getKey());
+                detected.add(new HotKey(entry.getKey(), rate));
+            }
+        }
+        detected.sort((a, b) -> Long.compare(b.getWritesPerSecond(), a.getWritesPerSecond()));
+        hotKeys = hot;
+        report = Collections.unmodifiableList(detected);
+        slots.keySet().retainAll(hot);
+    }
+
+    private static final class Slot {
+
+        private final String name;
+        private final AtomicReference<Pending> latest = new AtomicReference<>();
+        private final AtomicBoolean combining = new AtomicBoolean();
+
+        private Slot(String name) {
+            this.name = name;
+        }
+
+        boolean update(int score, Instant timestamp, Writer writer) {
+            Pending pending = new Pending(score, timestamp);
+            Pending current;
+            do {
+                current = latest.get();
+                pending.superseded = current;
+            } while (!latest.compareAndSet(current, pending));
+            int spins = 0;
+            while (!pending.applied) {
+                if (combining.compareAndSet(false, true)) {
+                    try {
+                        combine(writer);
+                    } finally {
+                        combining.set(false);
+                    }
+                } else if (spins < WAIT_SPINS) {
+                    spins++;
+                } else {
+                    // the combining writer usually finishes within a map write
+                    LockSupport.parkNanos(WAIT_NANOS);
+                }
+            }
+            if (pending.failure != null) {
+                throw pending.failure;
+            }
+            return pending.found;
+        }
+
+        private void combine(Writer writer) {
+            Pending combined = latest.getAndSet(null);
+            if (combined == null) {
+                return;
+            }
+            boolean found = false;
+            RuntimeException failure = null;
+            try {
+                found = writer.write(name, combined.score, combined.timestamp);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            for (Pending p = combined; p != null; p = p.superseded) {
+                p.found = found;
+                p.failure = failure;
+                p.applied = true;
+            }
+        }
+    }
+
+    private static final class Pending {
+
+        private final int score;
+        private final Instant timestamp;
+        private Pending superseded;
+        private boolean found;
+        private RuntimeException failure;
+        private volatile boolean applied;
+
+        private Pending(int score, Instant timestamp) {
+            this.score = score;
+            this.timestamp = timestamp;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package pact.producer.handler;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer. Producers claim a slot by
+ * advancing the tail with a CAS and then publish their element into it; the consumer takes
+ * elements in claim order, waiting for a claimed slot to be published if needed.
+ */
+final class MpscRingBuffer<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    MpscRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+        slots = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+    }
+
+    /**
+     * Adds an element, returning {@code false} when the buffer is full.
+     */
+    boolean offer(E element) {
+        while (true) {
+            long claimed = tail.get();
+            if (claimed - head.get() > mask) {
+                return false;
+            }
+            if (tail.compareAndSet(claimed, claimed + 1)) {
+                slots.set((int) claimed & mask, element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes the next element, or returns {@code null} when there is none or when it is claimed
+     * but not published yet. Only the consumer thread may call this.
+     */
+    E poll() {
+        long next = head.get();
+        int index = (int) next & mask;
+        E element = slots.get(index);
+        if (element != null) {
+            slots.lazySet(index, null);
+            head.lazySet(next + 1);
+        }
+        return element;
+    }
+
+    /**
+     * Returns whether no slot is claimed; an element may still be in the middle of being published
+     * when this returns {@code false}.
+     */
+    boolean isEmpty() {
+        return tail.get() == head.get();
+    }
+}
@@ -0,0 +1,375 @@
+package pact.producer.handler;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import pact.producer.dto.ScoreUsernameTimestamp;
+
+/**
+ * Score store that keeps no per-entry objects: each lock-striped segment holds an open-addressing
+ * index into parallel primitive arrays (hash, score, timestamp, version) and an off-heap arena with the
+ * UTF-8 names. {@link ScoreUsernameTimestamp}s are only created when a score is read. Timestamps
+ * are packed as epoch seconds plus nanoseconds, so that every {@link Instant} round-trips exactly
+ * and storing one never fails once the remapping function has run.
+ *
+ * <p>The handler indexes would hold one object per score and defeat the packing, so this engine
+ * does not keep them: see {@link #keepsIndexes()}.
+ */
+public class PackedScoreStore implements ScoreStore {
+
+    private static final int SEGMENTS = 64;
+    private static final int SEGMENT_SHIFT = 26;
+    private static final int EMPTY = 0;
+    private static final int DELETED = -1;
+    private static final int NO_TIMESTAMP = -1;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    public PackedScoreStore(int initialCapacity) {
+        int segmentCapacity = Math.max(16, initialCapacity / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * Returns {@code false}: paging, prefix and updated-since queries, ranks, top scores and eviction
+     * are not available with this engine.
+     */
+    @Override
+    public boolean keepsIndexes() {
+        return false;
+    }
+
+    @Override
+    public ScoreUsernameTimestamp get(String name) {
+        int hash = hash(name);
+        return segmentFor(hash).get(name, hash);
+    }
+
+    @Override
+    public ScoreUsernameTimestamp computeIfAbsent(String name, Function<String, ScoreUsernameTimestamp> mappingFunction) {
+        return compute(name, (s, previous) -> previous == null ? mappingFunction.apply(s) : previous);
+    }
+
+    @Override
+    public ScoreUsernameTimestamp computeIfPresent(String name, BiFunction<String, ScoreUsernameTimestamp, ScoreUsernameTimestamp> remappingFunction) {
+        return compute(name, (s, previous) -> previous == null ? null : remappingFunction.apply(s, previous));
+    }
+
+    @Override
+    public ScoreUsernameTimestamp compute(String name, BiFunction<String, ScoreUsernameTimestamp, ScoreUsernameTimestamp> remappingFunction) {
+        int hash = hash(name);
+        return segmentFor(hash).compute(name, hash, remappingFunction);
+    }
+
+    @Override
+    public Collection<ScoreUsernameTimestamp> values() {
+        return new AbstractCollection<ScoreUsernameTimestamp>() {
+            @Override
+            public Iterator<ScoreUsernameTimestamp> iterator() {
+                return new ValueIterator();
+            }
+
+            @Override
+            public int size() {
+                return PackedScoreStore.this.size();
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[(hash >>> SEGMENT_SHIFT) & (SEGMENTS - 1)];
+    }
+
+    private static int hash(String name) {
+        int h = name.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private final class ValueIterator implements Iterator<ScoreUsernameTimestamp> {
+
+        private final int[] slot = new int[1];
+        private int segment;
+        private ScoreUsernameTimestamp next;
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && segment < SEGMENTS) {
+                next = segments[segment].readFrom(slot);
+                if (next == null) {
+                    segment++;
+                    slot[0] = 0;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public ScoreUsernameTimestamp next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ScoreUsernameTimestamp current = next;
+            next = null;
+            slot[0]++;
+            return current;
+        }
+    }
+
+    private static final class Segment {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private int[] index;
+        private int tombstones;
+
+        private int[] hashes;
+        private int[] scores;
+        private long[] epochSeconds;
+        private int[] nanos;
+        private long[] versions;
+        private int[] nameOffsets;
+        private int[] nameLengths;
+        private int slotsUsed;
+        private int[] freeSlots = new int[16];
+        private int freeCount;
+
+        private ByteBuffer names;
+        private int deadNameBytes;
+
+        private volatile int size;
+
+        private Segment(int capacity) {
+            index = new int[tableSizeFor(capacity * 2)];
+            hashes = new int[capacity];
+            scores = new int[capacity];
+            epochSeconds = new long[capacity];
+            nanos = new int[capacity];
+            versions = new long[capacity];
+            nameOffsets = new int[capacity];
+            nameLengths = new int[capacity];
+            names = ByteBuffer.allocateDirect(capacity * 16);
+        }
+
+        private ScoreUsernameTimestamp get(String name, int hash) {
+            byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            lock.readLock().lock();
+            try {
+                int position = find(nameBytes, hash);
+                if (position < 0) {
+                    return null;
+                }
+                int slot = index[position] - 1;
+                return read(name, slot);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private ScoreUsernameTimestamp compute(String name, int hash,
+                                               BiFunction<String, ScoreUsernameTimestamp, ScoreUsernameTimestamp> remappingFunction) {
+            byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            lock.writeLock().lock();
+            try {
+                int position = find(nameBytes, hash);
+                ScoreUsernameTimestamp previous = null;
+                if (position >= 0) {
+                    int slot = index[position] - 1;
+                    previous = read(name, slot);
+                }
+                ScoreUsernameTimestamp computed = remappingFunction.apply(name, previous);
+                if (computed == previous) {
+                    return computed;
+                }
+                if (computed == null) {
+                    remove(position);
+                } else if (position >= 0) {
+                    write(index[position] - 1, computed);
+                } else {
+                    insert(nameBytes, hash, computed);
+                }
+                return computed;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Returns the first live entry at or after {@code slot[0]}, moving {@code slot[0]} to it, or
+         * returns {@code null} when there is none.
+         */
+        private ScoreUsernameTimestamp readFrom(int[] slot) {
+            lock.readLock().lock();
+            try {
+                for (int candidate = slot[0]; candidate < slotsUsed; candidate++) {
+                    if (nameLengths[candidate] >= 0) {
+                        slot[0] = candidate;
+                        return read(readName(candidate), candidate);
+                    }
+                }
+                return null;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private ScoreUsernameTimestamp read(String name, int slot) {
+            Instant timestamp = nanos[slot] == NO_TIMESTAMP ? null : Instant.ofEpochSecond(epochSeconds[slot], nanos[slot]);
+            return new ScoreUsernameTimestamp(name, scores[slot], timestamp, versions[slot]);
+        }
+
+        private void write(int slot, ScoreUsernameTimestamp score) {
+            Instant timestamp = score.getTimestamp();
+            scores[slot] = score.getScore();
+            epochSeconds[slot] = timestamp == null ? 0 : timestamp.getEpochSecond();
+            nanos[slot] = timestamp == null ? NO_TIMESTAMP : timestamp.getNano();
+            versions[slot] = score.getVersion();
+        }
+
+        private int find(byte[] nameBytes, int hash) {
+            int mask = index.length - 1;
+            for (int position = hash & mask; ; position = (position + 1) & mask) {
+                int entry = index[position];
+                if (entry == EMPTY) {
+                    return -1;
+                }
+                if (entry != DELETED && hashes[entry - 1] == hash && nameEquals(entry - 1, nameBytes)) {
+                    return position;
+                }
+            }
+        }
+
+        private boolean nameEquals(int slot, byte[] nameBytes) {
+            if (nameLengths[slot] != nameBytes.length) {
+                return false;
+            }
+            int offset = nameOffsets[slot];
+            for (int i = 0; i < nameBytes.length; i++) {
+                if (names.get(offset + i) != nameBytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private String readName(int slot) {
+            byte[] nameBytes = new byte[nameLengths[slot]];
+            ByteBuffer name = names.duplicate();
+            name.position(nameOffsets[slot]);
+            name.get(nameBytes);
+            return new String(nameBytes, StandardCharsets.UTF_8);
+        }
+
+        private void insert(byte[] nameBytes, int hash, ScoreUsernameTimestamp score) {
+            if ((size + tombstones + 1) * 2 > index.length) {
+                rehash();
+            }
+            int slot = allocateSlot();
+            hashes[slot] = hash;
+            write(slot, score);
+            nameOffsets[slot] = appendName(nameBytes);
+            nameLengths[slot] = nameBytes.length;
+
+            int mask = index.length - 1;
+            int position = hash & mask;
+            while (index[position] > 0) {
+                position = (position + 1) & mask;
+            }
+            if (index[position] == DELETED) {
+                tombstones--;
+            }
+            index[position] = slot + 1;
+            size++;
+        }
+
+        private void remove(int position) {
+            int slot = index[position] - 1;
+            index[position] = DELETED;
+            tombstones++;
+            deadNameBytes += nameLengths[slot];
+            nameLengths[slot] = -1;
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            }
+            freeSlots[freeCount++] = slot;
+            size--;
+        }
+
+        private int allocateSlot() {
+            if (freeCount > 0) {
+                return freeSlots[--freeCount];
+            }
+            if (slotsUsed == hashes.length) {
+                int capacity = hashes.length * 2;
+                hashes = Arrays.copyOf(hashes, capacity);
+                scores = Arrays.copyOf(scores, capacity);
+                epochSeconds = Arrays.copyOf(epochSeconds, capacity);
+                nanos = Arrays.copyOf(nanos, capacity);
+                versions = Arrays.copyOf(versions, capacity);
+                nameOffsets = Arrays.copyOf(nameOffsets, capacity);
+                nameLengths = Arrays.copyOf(nameLengths, capacity);
+            }
+            return slotsUsed++;
+        }
+
+        private int appendName(byte[] nameBytes) {
+            if (names.remaining() < nameBytes.length) {
+                int liveBytes = names.position() - deadNameBytes;
+                ByteBuffer compacted = ByteBuffer.allocateDirect(Math.max(names.capacity(), (liveBytes + nameBytes.length) * 2));
+                for (int slot = 0; slot < slotsUsed; slot++) {
+                    if (nameLengths[slot] >= 0) {
+                        ByteBuffer name = names.duplicate();
+                        name.limit(nameOffsets[slot] + nameLengths[slot]);
+                        name.position(nameOffsets[slot]);
+                        nameOffsets[slot] = compacted.position();
+                        compacted.put(name);
+                    }
+                }
+                names = compacted;
+                deadNameBytes = 0;
+            }
+            int offset = names.position();
+            names.put(nameBytes);
+            return offset;
+        }
+
+        private void rehash() {
+            int[] rehashed = new int[tableSizeFor(Math.max(index.length, (size + 1) * 4))];
+            int mask = rehashed.length - 1;
+            for (int entry : index) {
+                if (entry > 0) {
+                    int position = hashes[entry - 1] & mask;
+                    while (rehashed[position] != EMPTY) {
+                        position = (position + 1) & mask;
+                    }
+                    rehashed[position] = entry;
+                }
+            }
+            index = rehashed;
+            tombstones = 0;
+        }
+
+        private static int tableSizeFor(int capacity) {
+            int size = Integer.highestOneBit(Math.max(capacity, 2) - 1) << 1;
+            return size < 0 ? 1 << 30 : size;
+        }
+    }
+}
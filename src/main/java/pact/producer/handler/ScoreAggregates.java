@@ -0,0 +1,89 @@
+package pact.producer.handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import pact.producer.dto.ScoreHistogramBucket;
+
+/**
+ * Running count and sum of the scores, plus a histogram with one bucket per power of two on each
+ * side of zero, so adding or removing a score is a few atomic increments.
+ */
+class ScoreAggregates {
+
+    private static final int BUCKET_COUNT = 64;
+    private static final int ZERO_BUCKET = 32;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    void add(int score) {
+        count.increment();
+        sum.add(score);
+        buckets.incrementAndGet(bucketOf(score));
+    }
+
+    void remove(int score) {
+        count.decrement();
+        sum.add(-score);
+        buckets.decrementAndGet(bucketOf(score));
+    }
+
+    void replace(int previous, int current) {
+        sum.add((long) current - previous);
+        int previousBucket = bucketOf(previous);
+        int currentBucket = bucketOf(current);
+        if (previousBucket != currentBucket) {
+            buckets.decrementAndGet(previousBucket);
+            buckets.incrementAndGet(currentBucket);
+        }
+    }
+
+    long count() {
+        return count.sum();
+    }
+
+    long sum() {
+        return sum.sum();
+    }
+
+    /**
+     * Returns the non-empty buckets, lowest scores first.
+     */
+    List<ScoreHistogramBucket> histogram() {
+        List<ScoreHistogramBucket> histogram = new ArrayList<>();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long bucketCount = buckets.get(i);
+            if (bucketCount > 0) {
+                histogram.add(new ScoreHistogramBucket(lowerBound(i), upperBound(i), bucketCount));
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Bucket 32 holds 0, bucket 32 + b the positive scores of bit length b, and bucket 31 - b the
+     * negative scores whose complement has bit length b.
+     */
+    static int bucketOf(int score) {
+        return score >= 0
+            ? ZERO_BUCKET + 32 - Integer.numberOfLeadingZeros(score)
+            : ZERO_BUCKET - 1 - (32 - Integer.numberOfLeadingZeros(~score));
+    }
+
+    static int lowerBound(int bucket) {
+        if (bucket >= ZERO_BUCKET) {
+            return bucket == ZERO_BUCKET ? 0 : 1 << (bucket - ZERO_BUCKET - 1);
+        }
+        return ~(int) ((1L << (ZERO_BUCKET - 1 - bucket)) - 1);
+    }
+
+    static int upperBound(int bucket) {
+        if (bucket < ZERO_BUCKET) {
+            return bucket == ZERO_BUCKET - 1 ? -1 : ~(1 << (ZERO_BUCKET - 2 - bucket));
+        }
+        return (int) ((1L << (bucket - ZERO_BUCKET)) - 1);
+    }
+}
@@ -0,0 +1,32 @@
+package pact.producer.handler;
+
+import pact.producer.dto.ScoreUsernameTimestamp;
+
+/**
+ * Notified by {@link ScoreHandler} of every score mutation. The change callbacks run while the
+ * mutated name is locked, so they observe the changes of a given name in order and must not block;
+ * {@link #beforeMutation()} and {@link #beforeAcknowledgement()} run outside of any lock and may.
+ */
+public interface ScoreChangeListener {
+
+    /**
+     * Called before each mutation is applied, so that the listener can hold writers back.
+     */
+    default void beforeMutation() {
+    }
+
+    /**
+     * Called once a write request has applied its mutations, before it returns to the client.
+     */
+    default void beforeAcknowledgement() {
+    }
+
+    default void scoreCreated(ScoreUsernameTimestamp created) {
+    }
+
+    default void scoreUpdated(ScoreUsernameTimestamp previous, ScoreUsernameTimestamp updated) {
+    }
+
+    default void scoreDeleted(ScoreUsernameTimestamp deleted) {
+    }
+}
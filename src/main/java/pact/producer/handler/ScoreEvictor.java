@@ -0,0 +1,145 @@
+package pact.producer.handler;
+
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import pact.producer.dto.ScoreUsernameTimestamp;
+import pact.producer.metrics.ScoreMetrics;
+import pact.producer.service.TimeProvider;
+
+/**
+ * Removes the scores not written for {@code scores.expiry.ttl-ms}, and evicts scores while there
+ * are more than {@code scores.eviction.max-entries} of them or their estimated footprint exceeds
+ * {@code scores.eviction.max-bytes}. Eviction picks the least recently written score ({@code lru};
+ * reads do not count) or the lowest one ({@code lowest-score}), as set by
+ * {@code scores.eviction.policy}. All limits are off by default.
+ *
+ * <p>Candidates are taken from the head of the recency index or the tail of the ranking, so a
+ * sweep never scans the map: it removes one score at a time, each in its own compute, at most
+ * {@code scores.eviction.batch-size} per pass. Removals go through the listeners like a DELETE.
+ * Hence the limits cannot be set with a store engine that does not keep the indexes.
+ */
+@Component
+public class ScoreEvictor {
+
+    enum Policy {
+        LRU, LOWEST_SCORE
+    }
+
+    @Value("${scores.expiry.ttl-ms:0}")
+    private long ttlMs;
+
+    @Value("${scores.eviction.max-entries:0}")
+    private long maxEntries;
+
+    @Value("${scores.eviction.max-bytes:0}")
+    private long maxBytes;
+
+    @Value("${scores.eviction.policy:lru}")
+    private String policyName;
+
+    @Value("${scores.eviction.sweep-interval-ms:1000}")
+    private long sweepIntervalMs;
+
+    @Value("${scores.eviction.batch-size:1000}")
+    private int batchSize;
+
+    @Autowired
+    private ScoreHandler scoreHandler;
+
+    @Autowired
+    private TimeProvider timeProvider;
+
+    @Autowired
+    private ScoreMetrics scoreMetrics;
+
+    private Policy policy;
+
+    private ScheduledExecutorService sweeper;
+
+    @PostConstruct
+    void start() {
+        policy = Policy.valueOf(policyName.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        if (ttlMs <= 0 && maxEntries <= 0 && maxBytes <= 0) {
+            return;
+        }
+        if (!scoreHandler.isIndexed()) {
+            throw new IllegalStateException("Score expiry and eviction need the score indexes, which the configured store engine does not keep");
+        }
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "score-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::run, sweepIntervalMs, sweepIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (sweeper != null) {
+            sweeper.shutdownNow();
+        }
+    }
+
+    private void run() {
+        int attempts;
+        do {
+            attempts = sweep();
+        } while (attempts == batchSize && !Thread.currentThread().isInterrupted());
+    }
+
+    /**
+     * Makes one pass of up to {@code batchSize} removal attempts, expired scores first, and returns
+     * how many attempts it made.
+     */
+    int sweep() {
+        int attempts = expire(batchSize);
+        return attempts + evict(batchSize - attempts);
+    }
+
+    private int expire(int limit) {
+        if (ttlMs <= 0) {
+            return 0;
+        }
+        Instant cutoff = timeProvider.now().minusMillis(ttlMs);
+        int attempts = 0;
+        while (attempts < limit) {
+            ScoreUsernameTimestamp oldest = scoreHandler.leastRecentlyWritten(Instant.MIN);
+            if (oldest == null || !oldest.getTimestamp().isBefore(cutoff)) {
+                break;
+            }
+            attempts++;
+            if (scoreHandler.evict(oldest)) {
+                scoreMetrics.recordExpiration();
+            }
+        }
+        return attempts;
+    }
+
+    private int evict(int limit) {
+        int attempts = 0;
+        while (attempts < limit && overCapacity()) {
+            ScoreUsernameTimestamp victim = policy == Policy.LRU ? scoreHandler.leastRecentlyWritten(null) : scoreHandler.lowestScore();
+            if (victim == null) {
+                break;
+            }
+            attempts++;
+            if (scoreHandler.evict(victim)) {
+                scoreMetrics.recordEviction();
+            }
+        }
+        return attempts;
+    }
+
+    private boolean overCapacity() {
+        return (maxEntries > 0 && scoreHandler.size() > maxEntries)
+            || (maxBytes > 0 && scoreHandler.estimatedBytes() > maxBytes);
+    }
+}
@@ -1,57 +1,599 @@
 package pact.producer.handler;
 
+import static org.springframework.http.HttpStatus.ACCEPTED;
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import javax.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import pact.producer.dto.ScoreOperation;
+import pact.producer.dto.ScoreOperationResult;
+import pact.producer.dto.ScorePatch;
+import pact.producer.dto.ScoreRank;
+import pact.producer.dto.ScoreStats;
 import pact.producer.dto.ScoreUsernameTimestamp;
 import pact.producer.exception.DuplicatedScoreException;
+import pact.producer.exception.FeatureUnavailableException;
+import pact.producer.exception.ScoreConflictException;
 import pact.producer.exception.UserNotFoundException;
+import pact.producer.metrics.ScoreMetrics;
+import pact.producer.metrics.ScoreMetrics.Operation;
 import pact.producer.service.TimeProvider;
 
 @Component
-public class ScoreHandler {
+public class ScoreHandler implements ScoreShard {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Highest score first, ties broken by the earliest timestamp and then by name.
+     */
+    public static final Comparator<ScoreUsernameTimestamp> RANKING_ORDER = ScoreRanking.ORDER;
+
+    private static final String EPOCH = Long.toString(System.currentTimeMillis(), 36);
+
+    private static final int ENTRY_BYTES = 200;
 
-    private Map<String, ScoreUsernameTimestamp> scoreMap = new ConcurrentHashMap<>();
+    static final Comparator<ScoreUsernameTimestamp> RECENCY_ORDER = Comparator
+        .comparing(ScoreUsernameTimestamp::getTimestamp, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(ScoreUsernameTimestamp::getName);
+
+    @Autowired
+    private ScoreStore scoreStore;
+
+    private final ConcurrentSkipListSet<String> names = new ConcurrentSkipListSet<>();
+
+    private final ScoreRanking ranking = new ScoreRanking();
+
+    private final ScoreAggregates aggregates = new ScoreAggregates();
+
+    private final ConcurrentSkipListSet<ScoreUsernameTimestamp> recency = new ConcurrentSkipListSet<>(RECENCY_ORDER);
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final LongAdder nameChars = new LongAdder();
+
+    private final LongAdder writesInFlight = new LongAdder();
 
     @Autowired
     private TimeProvider timeProvider;
 
+    @Autowired
+    private ScoreMetrics scoreMetrics;
+
+    @Autowired
+    private HotKeyCombiner hotKeyCombiner;
+
+    @Autowired(required = false)
+    private List<ScoreChangeListener> listeners = Collections.emptyList();
+
+    private boolean indexed;
+
+    @PostConstruct
+    void init() {
+        indexed = scoreStore.keepsIndexes();
+    }
+
+    @Override
     public Collection<ScoreUsernameTimestamp> getAllScores() {
-        return scoreMap.values();
+        long start = System.nanoTime();
+        try {
+            return scoreStore.values();
+        } finally {
+            scoreMetrics.record(Operation.GET_ALL, start);
+        }
     }
 
+    @Override
     public ScoreUsernameTimestamp getScore(String name) throws UserNotFoundException {
-        ScoreUsernameTimestamp scoreUsernameTimestamp = scoreMap.get(name);
-        if (scoreUsernameTimestamp == null) {
-            throw new UserNotFoundException("Could not find username: " + name);
+        long start = System.nanoTime();
+        try {
+            ScoreUsernameTimestamp scoreUsernameTimestamp = scoreStore.get(name);
+            if (scoreUsernameTimestamp == null) {
+                scoreMetrics.recordMiss();
+                throw new UserNotFoundException("Could not find username: " + name);
+            }
+            return scoreUsernameTimestamp;
+        } finally {
+            scoreMetrics.record(Operation.GET, start);
         }
-        return scoreUsernameTimestamp;
     }
 
-    public void createScore(String name, int score) throws DuplicatedScoreException {
-        ScoreUsernameTimestamp scoreUsernameTimestamp = new ScoreUsernameTimestamp(name, score, timeProvider.now());
-        boolean added = scoreMap.putIfAbsent(name, scoreUsernameTimestamp) == null;
-        if (!added) {
-            throw new DuplicatedScoreException("Username " + name + " already exists");
+    /**
+     * Returns the store version, which every mutation increments before the store makes it visible.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
+    /**
+     * Returns the store version when no mutation is in progress, so that every mutation up to it
+     * is visible to readers, or -1 while one is.
+     */
+    public long getSettledVersion() {
+        long settled = version.get();
+        return writesInFlight.sum() == 0 ? settled : -1;
+    }
+
+    public List<ScoreUsernameTimestamp> getScoresAfter(String after, int limit) {
+        requireIndexes("Paging");
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+        if (pageSize <= 0) {
+            return Collections.emptyList();
+        }
+        NavigableSet<String> candidates = after == null ? names : names.tailSet(after, false);
+        List<ScoreUsernameTimestamp> page = new ArrayList<>(pageSize);
+        for (String name : candidates) {
+            ScoreUsernameTimestamp scoreUsernameTimestamp = scoreStore.get(name);
+            if (scoreUsernameTimestamp != null) {
+                page.add(scoreUsernameTimestamp);
+                if (page.size() == pageSize) {
+                    break;
+                }
+            }
         }
+        return page;
+    }
 
+    /**
+     * Returns the scores whose names start with {@code prefix}, ordered by name.
+     */
+    public List<ScoreUsernameTimestamp> getScoresWithPrefix(String prefix, int limit) {
+        requireIndexes("Prefix search");
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+        if (pageSize <= 0) {
+            return Collections.emptyList();
+        }
+        List<ScoreUsernameTimestamp> page = new ArrayList<>(Math.min(pageSize, 16));
+        for (String name : names.tailSet(prefix, true)) {
+            if (!name.startsWith(prefix)) {
+                break;
+            }
+            ScoreUsernameTimestamp scoreUsernameTimestamp = scoreStore.get(name);
+            if (scoreUsernameTimestamp != null) {
+                page.add(scoreUsernameTimestamp);
+                if (page.size() == pageSize) {
+                    break;
+                }
+            }
+        }
+        return page;
     }
 
+    /**
+     * Returns the scores last written at or after {@code since}, least recently written first.
+     */
+    public List<ScoreUsernameTimestamp> getScoresUpdatedSince(Instant since, int limit) {
+        requireIndexes("Updated-since search");
+        int pageSize = Math.min(limit, MAX_PAGE_SIZE);
+        if (pageSize <= 0) {
+            return Collections.emptyList();
+        }
+        List<ScoreUsernameTimestamp> page = new ArrayList<>(pageSize);
+        for (ScoreUsernameTimestamp scoreUsernameTimestamp : recency.tailSet(new ScoreUsernameTimestamp("", 0, since), true)) {
+            page.add(scoreUsernameTimestamp);
+            if (page.size() == pageSize) {
+                break;
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Returns the least recently written score whose timestamp is not before {@code since}, which
+     * may be {@code null} to include the scores without a timestamp.
+     */
+    ScoreUsernameTimestamp leastRecentlyWritten(Instant since) {
+        return recency.ceiling(new ScoreUsernameTimestamp("", 0, since));
+    }
+
+    ScoreUsernameTimestamp lowestScore() {
+        return ranking.last();
+    }
+
+    boolean isIndexed() {
+        return indexed;
+    }
+
+    long size() {
+        return aggregates.count();
+    }
+
+    /**
+     * Returns a rough footprint of the stored scores: a fixed cost per entry for the store and the
+     * indexes, plus two bytes per name character.
+     */
+    long estimatedBytes() {
+        return aggregates.count() * ENTRY_BYTES + nameChars.sum() * 2;
+    }
+
+    /**
+     * Returns the entity tag of a version, prefixed with the boot epoch since versions start over
+     * when the process restarts.
+     */
+    public static String etag(long version) {
+        return "\"" + EPOCH + "-" + version + "\"";
+    }
+
+    /**
+     * Returns the highest scores, at most {@link #MAX_PAGE_SIZE} of them.
+     */
+    @Override
+    public List<ScoreUsernameTimestamp> getTopScores(int count) {
+        requireIndexes("Ranking");
+        if (count <= 0) {
+            return Collections.emptyList();
+        }
+        return ranking.fromRank(1, Math.min(count, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Returns the distribution of the scores. Count, sum and histogram are kept up to date on every
+     * write; the minimum, maximum and percentiles are looked up in the ranking, and left out
+     * without the indexes.
+     */
+    public ScoreStats getStats() {
+        long count = aggregates.count();
+        long sum = aggregates.sum();
+        if (!indexed) {
+            return new ScoreStats(count, sum, count == 0 ? null : (double) sum / count,
+                null, null, null, null, null, aggregates.histogram());
+        }
+        int[] scores = ranking.scoresAt(0, 0.5, 0.9, 0.99, 1);
+        if (scores == null) {
+            return new ScoreStats(0, 0, null, null, null, null, null, null, Collections.emptyList());
+        }
+        return new ScoreStats(count, sum, count == 0 ? null : (double) sum / count,
+            scores[0], scores[4], scores[1], scores[2], scores[3], aggregates.histogram());
+    }
+
+    public ScoreRank getRank(String name) throws UserNotFoundException {
+        requireIndexes("Ranking");
+        while (true) {
+            ScoreUsernameTimestamp scoreUsernameTimestamp = getScore(name);
+            int rank = ranking.rankOf(scoreUsernameTimestamp);
+            if (rank > 0) {
+                return new ScoreRank(name, scoreUsernameTimestamp.getScore(), scoreUsernameTimestamp.getTimestamp(), rank);
+            }
+        }
+    }
+
+    @Override
+    public void createScore(String name, int score) throws DuplicatedScoreException {
+        long start = System.nanoTime();
+        try {
+            if (!create(name, score, timeProvider.now())) {
+                scoreMetrics.recordDuplicate();
+                throw new DuplicatedScoreException("Username " + name + " already exists");
+            }
+            beforeAcknowledgement();
+        } finally {
+            scoreMetrics.record(Operation.CREATE, start);
+        }
+    }
+
+    @Override
     public void updateScore(String name, int score) throws UserNotFoundException {
-        BiFunction<String, ScoreUsernameTimestamp, ScoreUsernameTimestamp> remappingFunction = (s, scoreUsernameTimestamp) -> new ScoreUsernameTimestamp(name, score, timeProvider.now());
-        boolean added = scoreMap.computeIfPresent(name, remappingFunction) != null;
-        if (!added) {
-            throw new UserNotFoundException("Could not find username: " + name);
+        long start = System.nanoTime();
+        try {
+            if (!hotKeyCombiner.update(name, score, timeProvider.now(), this::update)) {
+                scoreMetrics.recordMiss();
+                throw new UserNotFoundException("Could not find username: " + name);
+            }
+            beforeAcknowledgement();
+        } finally {
+            scoreMetrics.record(Operation.UPDATE, start);
         }
     }
 
+    @Override
     public void deleteScore(String name) throws UserNotFoundException {
-        boolean removed = scoreMap.remove(name) != null;
-        if (!removed) {
-            throw new UserNotFoundException("Could not find username: " + name);
+        long start = System.nanoTime();
+        try {
+            if (!delete(name)) {
+                scoreMetrics.recordMiss();
+                throw new UserNotFoundException("Could not find username: " + name);
+            }
+            beforeAcknowledgement();
+        } finally {
+            scoreMetrics.record(Operation.DELETE, start);
+        }
+    }
+
+    @Override
+    public ScoreUsernameTimestamp patchScore(String name, ScorePatch patch) throws UserNotFoundException, ScoreConflictException {
+        switch (patch.getType()) {
+            case INCREMENT:
+                return incrementScore(name, patch.getValue());
+            case MAX:
+                return maxScore(name, patch.getValue());
+            default:
+                return compareAndSetScore(name, patch.getExpected(), patch.getValue());
+        }
+    }
+
+    /**
+     * Adds {@code delta} to the score, failing rather than overflowing.
+     */
+    public ScoreUsernameTimestamp incrementScore(String name, int delta) throws UserNotFoundException, ScoreConflictException {
+        return modify(name, current -> {
+            long next = (long) current + delta;
+            return next == (int) next ? (int) next : null;
+        }, current -> "Incrementing the score of " + name + " by " + delta + " would overflow");
+    }
+
+    /**
+     * Raises the score to {@code candidate} when it is higher; a lower candidate leaves the score,
+     * and its timestamp, untouched.
+     */
+    public ScoreUsernameTimestamp maxScore(String name, int candidate) throws UserNotFoundException, ScoreConflictException {
+        return modify(name, current -> Math.max(current, candidate), null);
+    }
+
+    /**
+     * Sets the score to {@code score} only when it is currently {@code expected}.
+     */
+    public ScoreUsernameTimestamp compareAndSetScore(String name, int expected, int score) throws UserNotFoundException, ScoreConflictException {
+        return modify(name, current -> current == expected ? score : null,
+            current -> "Score of " + name + " is " + current + ", not " + expected);
+    }
+
+    @Override
+    public List<ScoreOperationResult> applyBatch(List<ScoreOperation> operations) {
+        Instant now = timeProvider.now();
+        List<ScoreOperationResult> results = new ArrayList<>(operations.size());
+        for (ScoreOperation operation : operations) {
+            results.add(apply(operation, now));
+        }
+        beforeAcknowledgement();
+        return results;
+    }
+
+    private ScoreOperationResult apply(ScoreOperation operation, Instant now) {
+        String name = operation.getName();
+        if (operation.getType() == null || name == null) {
+            return new ScoreOperationResult(name, BAD_REQUEST.value(), "Operation type and name are required");
+        }
+        if (operation.getType() != ScoreOperation.Type.DELETE && operation.getScore() == null) {
+            return new ScoreOperationResult(name, BAD_REQUEST.value(), "Score is required for " + operation.getType());
+        }
+        switch (operation.getType()) {
+            case CREATE:
+                return create(name, operation.getScore(), now)
+                    ? new ScoreOperationResult(name, ACCEPTED.value(), null)
+                    : new ScoreOperationResult(name, BAD_REQUEST.value(), "Username " + name + " already exists");
+            case UPDATE:
+                return update(name, operation.getScore(), now)
+                    ? new ScoreOperationResult(name, ACCEPTED.value(), null)
+                    : new ScoreOperationResult(name, NOT_FOUND.value(), "Could not find username: " + name);
+            default:
+                return delete(name)
+                    ? new ScoreOperationResult(name, ACCEPTED.value(), null)
+                    : new ScoreOperationResult(name, NOT_FOUND.value(), "Could not find username: " + name);
+        }
+    }
+
+    /**
+     * Creates the score or replaces the existing one, notifying the {@link ScoreChangeListener}s
+     * either way. Callers acknowledge a run of puts with {@link #beforeAcknowledgement()}.
+     */
+    public void putScore(String name, int score, Instant timestamp) {
+        compute(name, (s, previous) -> previous == null ? insert(name, score, timestamp) : replace(previous, score, timestamp));
+    }
+
+    /**
+     * Lets the {@link ScoreChangeListener}s hold the acknowledgement of the mutations applied so
+     * far, for instance until they are on disk.
+     */
+    public void beforeAcknowledgement() {
+        for (ScoreChangeListener listener : listeners) {
+            listener.beforeAcknowledgement();
+        }
+    }
+
+    /**
+     * Replaces the score with {@code operator} applied to it, within a single compute. The operator
+     * returns {@code null} to reject the change, which is then reported with {@code conflict}.
+     */
+    private ScoreUsernameTimestamp modify(String name, IntFunction<Integer> operator, IntFunction<String> conflict) throws UserNotFoundException, ScoreConflictException {
+        long start = System.nanoTime();
+        try {
+            Instant now = timeProvider.now();
+            ScoreUsernameTimestamp[] modified = new ScoreUsernameTimestamp[1];
+            boolean[] rejected = new boolean[1];
+            computeIfPresent(name, (s, previous) -> {
+                Integer score = operator.apply(previous.getScore());
+                rejected[0] = score == null;
+                modified[0] = score == null || score == previous.getScore() ? previous : replace(previous, score, now);
+                return modified[0];
+            });
+            if (modified[0] == null) {
+                scoreMetrics.recordMiss();
+                throw new UserNotFoundException("Could not find username: " + name);
+            }
+            if (rejected[0]) {
+                throw new ScoreConflictException(conflict.apply(modified[0].getScore()));
+            }
+            beforeAcknowledgement();
+            return modified[0];
+        } finally {
+            scoreMetrics.record(Operation.UPDATE, start);
+        }
+    }
+
+    private boolean create(String name, int score, Instant timestamp) {
+        ScoreUsernameTimestamp[] created = new ScoreUsernameTimestamp[1];
+        computeIfAbsent(name, s -> created[0] = insert(name, score, timestamp));
+        return created[0] != null;
+    }
+
+    private boolean update(String name, int score, Instant timestamp) {
+        return computeIfPresent(name, (s, previous) -> replace(previous, score, timestamp)) != null;
+    }
+
+    private ScoreUsernameTimestamp insert(String name, int score, Instant timestamp) {
+        ScoreUsernameTimestamp created = new ScoreUsernameTimestamp(name, score, timestamp, version.incrementAndGet());
+        nameChars.add(name.length());
+        index(created);
+        aggregates.add(score);
+        for (ScoreChangeListener listener : listeners) {
+            listener.scoreCreated(created);
+        }
+        return created;
+    }
+
+    private ScoreUsernameTimestamp replace(ScoreUsernameTimestamp previous, int score, Instant timestamp) {
+        ScoreUsernameTimestamp scoreUsernameTimestamp = new ScoreUsernameTimestamp(previous.getName(), score, timestamp, version.incrementAndGet());
+        reindex(previous, scoreUsernameTimestamp);
+        aggregates.replace(previous.getScore(), score);
+        for (ScoreChangeListener listener : listeners) {
+            listener.scoreUpdated(previous, scoreUsernameTimestamp);
+        }
+        return scoreUsernameTimestamp;
+    }
+
+    private boolean delete(String name) {
+        ScoreUsernameTimestamp[] removed = new ScoreUsernameTimestamp[1];
+        computeIfPresent(name, (s, previous) -> {
+            removed[0] = previous;
+            return remove(previous);
+        });
+        return removed[0] != null;
+    }
+
+    /**
+     * Deletes {@code candidate}, notifying the {@link ScoreChangeListener}s, unless its score has
+     * been written again since it was read.
+     */
+    boolean evict(ScoreUsernameTimestamp candidate) {
+        boolean[] evicted = new boolean[1];
+        computeIfPresent(candidate.getName(), (s, previous) -> {
+            evicted[0] = previous.getVersion() == candidate.getVersion();
+            return evicted[0] ? remove(previous) : previous;
+        });
+        return evicted[0];
+    }
+
+    private ScoreUsernameTimestamp remove(ScoreUsernameTimestamp previous) {
+        version.incrementAndGet();
+        nameChars.add(-previous.getName().length());
+        unindex(previous);
+        aggregates.remove(previous.getScore());
+        for (ScoreChangeListener listener : listeners) {
+            listener.scoreDeleted(previous);
+        }
+        return null;
+    }
+
+    /**
+     * Puts a recovered score in place without notifying the {@link ScoreChangeListener}s.
+     */
+    public void restoreScore(ScoreUsernameTimestamp recovered) {
+        String name = recovered.getName();
+        compute(name, (s, previous) -> {
+            ScoreUsernameTimestamp scoreUsernameTimestamp = new ScoreUsernameTimestamp(name, recovered.getScore(), recovered.getTimestamp(), version.incrementAndGet());
+            if (previous == null) {
+                nameChars.add(name.length());
+                index(scoreUsernameTimestamp);
+                aggregates.add(recovered.getScore());
+            } else {
+                reindex(previous, scoreUsernameTimestamp);
+                aggregates.replace(previous.getScore(), recovered.getScore());
+            }
+            return scoreUsernameTimestamp;
+        });
+    }
+
+    /**
+     * Removes a score during recovery without notifying the {@link ScoreChangeListener}s.
+     */
+    public void restoreDeletion(String name) {
+        computeIfPresent(name, (s, previous) -> {
+            version.incrementAndGet();
+            nameChars.add(-name.length());
+            unindex(previous);
+            aggregates.remove(previous.getScore());
+            return null;
+        });
+    }
+
+    private ScoreUsernameTimestamp compute(String name, BiFunction<String, ScoreUsernameTimestamp, ScoreUsernameTimestamp> remappingFunction) {
+        beforeMutation();
+        writesInFlight.increment();
+        try {
+            return scoreStore.compute(name, remappingFunction);
+        } finally {
+            writesInFlight.decrement();
+        }
+    }
+
+    private ScoreUsernameTimestamp computeIfAbsent(String name, Function<String, ScoreUsernameTimestamp> mappingFunction) {
+        beforeMutation();
+        writesInFlight.increment();
+        try {
+            return scoreStore.computeIfAbsent(name, mappingFunction);
+        } finally {
+            writesInFlight.decrement();
+        }
+    }
+
+    private ScoreUsernameTimestamp computeIfPresent(String name, BiFunction<String, ScoreUsernameTimestamp, ScoreUsernameTimestamp> remappingFunction) {
+        beforeMutation();
+        writesInFlight.increment();
+        try {
+            return scoreStore.computeIfPresent(name, remappingFunction);
+        } finally {
+            writesInFlight.decrement();
+        }
+    }
+
+    private void beforeMutation() {
+        for (ScoreChangeListener listener : listeners) {
+            listener.beforeMutation();
+        }
+    }
+
+    private void index(ScoreUsernameTimestamp created) {
+        if (indexed) {
+            names.add(created.getName());
+            ranking.add(created);
+            recency.add(created);
+        }
+    }
+
+    private void reindex(ScoreUsernameTimestamp previous, ScoreUsernameTimestamp current) {
+        if (indexed) {
+            ranking.replace(previous, current);
+            recency.remove(previous);
+            recency.add(current);
+        }
+    }
+
+    private void unindex(ScoreUsernameTimestamp removed) {
+        if (indexed) {
+            names.remove(removed.getName());
+            ranking.remove(removed);
+            recency.remove(removed);
+        }
+    }
+
+    private void requireIndexes(String feature) {
+        if (!indexed) {
+            throw new FeatureUnavailableException(feature + " requires the score indexes, which " + scoreStore.getClass().getSimpleName() + " does not keep");
         }
     }
 }
@@ -0,0 +1,120 @@
+package pact.producer.handler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import pact.producer.dto.ScoreUsernameTimestamp;
+
+/**
+ * Order-statistics index over the scores: highest score first, ties broken by the earliest
+ * timestamp and then by name. It is a {@link ConcurrentSkipListSet}, so writes are lock-free and
+ * only contend on neighbouring entries; ranks and percentiles are computed on read by walking the
+ * set, in O(rank) and O(n). A replace is a remove then an add, so a concurrent reader may briefly
+ * miss the entry.
+ */
+class ScoreRanking {
+
+    static final Comparator<ScoreUsernameTimestamp> ORDER = Comparator
+        .comparingInt(ScoreUsernameTimestamp::getScore).reversed()
+        .thenComparing(ScoreUsernameTimestamp::getTimestamp, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(ScoreUsernameTimestamp::getName);
+
+    private final ConcurrentSkipListSet<ScoreUsernameTimestamp> scores = new ConcurrentSkipListSet<>(ORDER);
+    private final AtomicInteger size = new AtomicInteger();
+
+    void add(ScoreUsernameTimestamp score) {
+        if (scores.add(score)) {
+            size.incrementAndGet();
+        }
+    }
+
+    void remove(ScoreUsernameTimestamp score) {
+        if (scores.remove(score)) {
+            size.decrementAndGet();
+        }
+    }
+
+    void replace(ScoreUsernameTimestamp previous, ScoreUsernameTimestamp current) {
+        remove(previous);
+        add(current);
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * Returns the 1-based rank of the given entry, or 0 when it is not indexed.
+     */
+    int rankOf(ScoreUsernameTimestamp score) {
+        if (!scores.contains(score)) {
+            return 0;
+        }
+        int rank = 1;
+        for (Iterator<ScoreUsernameTimestamp> higher = scores.headSet(score).iterator(); higher.hasNext(); higher.next()) {
+            rank++;
+        }
+        return rank;
+    }
+
+    /**
+     * Returns up to {@code count} entries starting at the given 1-based rank.
+     */
+    List<ScoreUsernameTimestamp> fromRank(int rank, int count) {
+        List<ScoreUsernameTimestamp> page = new ArrayList<>(Math.max(0, Math.min(count, size() - rank + 1)));
+        Iterator<ScoreUsernameTimestamp> iterator = scores.iterator();
+        for (int skipped = 1; skipped < rank && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        while (iterator.hasNext() && page.size() < count) {
+            page.add(iterator.next());
+        }
+        return page;
+    }
+
+    /**
+     * Returns the entry with the lowest score, or {@code null} when nothing is indexed.
+     */
+    ScoreUsernameTimestamp last() {
+        Iterator<ScoreUsernameTimestamp> lowest = scores.descendingIterator();
+        return lowest.hasNext() ? lowest.next() : null;
+    }
+
+    /**
+     * Returns the scores at the given quantiles, from 0 for the lowest score to 1 for the highest,
+     * using the nearest rank; {@code null} when nothing is indexed. All the quantiles are looked up
+     * in one walk from the lowest score.
+     */
+    int[] scoresAt(double... quantiles) {
+        int count = size();
+        if (count == 0) {
+            return null;
+        }
+        Integer[] order = new Integer[quantiles.length];
+        int[] ascending = new int[quantiles.length];
+        for (int i = 0; i < quantiles.length; i++) {
+            order[i] = i;
+            ascending[i] = Math.max(1, (int) Math.ceil(quantiles[i] * count));
+        }
+        Arrays.sort(order, Comparator.comparingInt(i -> ascending[i]));
+        int[] found = new int[quantiles.length];
+        Iterator<ScoreUsernameTimestamp> iterator = scores.descendingIterator();
+        int position = 0;
+        int score = 0;
+        for (int i : order) {
+            while (position < ascending[i] && iterator.hasNext()) {
+                score = iterator.next().getScore();
+                position++;
+            }
+            if (position == 0) {
+                return null;
+            }
+            found[i] = score;
+        }
+        return found;
+    }
+}
@@ -0,0 +1,40 @@
+package pact.producer.handler;
+
+import java.util.Collection;
+import java.util.List;
+import pact.producer.dto.ScoreOperation;
+import pact.producer.dto.ScoreOperationResult;
+import pact.producer.dto.ScorePatch;
+import pact.producer.dto.ScoreUsernameTimestamp;
+import pact.producer.exception.DuplicatedScoreException;
+import pact.producer.exception.ScoreConflictException;
+import pact.producer.exception.UserNotFoundException;
+
+/**
+ * The part of the score API that is partitioned by name when running sharded. {@link ScoreHandler}
+ * is the local shard.
+ */
+public interface ScoreShard {
+
+    Collection<ScoreUsernameTimestamp> getAllScores();
+
+    ScoreUsernameTimestamp getScore(String name) throws UserNotFoundException;
+
+    void createScore(String name, int score) throws DuplicatedScoreException;
+
+    void updateScore(String name, int score) throws UserNotFoundException;
+
+    void deleteScore(String name) throws UserNotFoundException;
+
+    ScoreUsernameTimestamp patchScore(String name, ScorePatch patch) throws UserNotFoundException, ScoreConflictException;
+
+    /**
+     * Returns the highest scores of the shard, in {@link ScoreHandler#RANKING_ORDER}.
+     */
+    List<ScoreUsernameTimestamp> getTopScores(int count);
+
+    /**
+     * Applies the operations in order, returning the result of each.
+     */
+    List<ScoreOperationResult> applyBatch(List<ScoreOperation> operations);
+}
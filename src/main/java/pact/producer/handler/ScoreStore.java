@@ -0,0 +1,38 @@
+package pact.producer.handler;
+
+import java.util.Collection;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import pact.producer.dto.ScoreUsernameTimestamp;
+
+/**
+ * Storage engine behind {@link ScoreHandler}. The compute methods follow the
+ * {@link java.util.concurrent.ConcurrentHashMap} contract: they are atomic per name and invoke the
+ * given function at most once, which is what keeps the handler indexes and listeners in step with
+ * the stored scores.
+ */
+public interface ScoreStore {
+
+    ScoreUsernameTimestamp get(String name);
+
+    ScoreUsernameTimestamp computeIfAbsent(String name, Function<String, ScoreUsernameTimestamp> mappingFunction);
+
+    ScoreUsernameTimestamp computeIfPresent(String name, BiFunction<String, ScoreUsernameTimestamp, ScoreUsernameTimestamp> remappingFunction);
+
+    ScoreUsernameTimestamp compute(String name, BiFunction<String, ScoreUsernameTimestamp, ScoreUsernameTimestamp> remappingFunction);
+
+    /**
+     * Returns a weakly consistent view of the stored scores.
+     */
+    Collection<ScoreUsernameTimestamp> values();
+
+    int size();
+
+    /**
+     * Whether {@link ScoreHandler} should keep its ordered indexes (names, ranking, recency) next to
+     * this store.
+     */
+    default boolean keepsIndexes() {
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package pact.producer.handler;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ScoreStoreConfiguration {
+
+    @Value("${scores.store.initial-capacity:1024}")
+    private int initialCapacity;
+
+    @Value("${scores.store.queue-capacity:4096}")
+    private int queueCapacity;
+
+    @Bean
+    @ConditionalOnProperty(name = "scores.store.engine", havingValue = "heap", matchIfMissing = true)
+    ScoreStore heapScoreStore() {
+        return new HeapScoreStore(initialCapacity);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "scores.store.engine", havingValue = "packed")
+    ScoreStore packedScoreStore() {
+        return new PackedScoreStore(initialCapacity);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "scores.store.engine", havingValue = "single-writer")
+    ScoreStore singleWriterScoreStore() {
+        return new SingleWriterScoreStore(initialCapacity, queueCapacity);
+    }
+}
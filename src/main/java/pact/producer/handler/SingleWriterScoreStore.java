@@ -0,0 +1,194 @@
+package pact.producer.handler;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import pact.producer.dto.ScoreUsernameTimestamp;
+
+/**
+ * Score store whose mutations are all applied by one writer thread. Callers enqueue their compute
+ * functions onto a lock-free ring buffer and wait for the writer to acknowledge them, so writers
+ * never contend on a map bin and the writer applies whatever has queued up in one pass. Reads go
+ * straight to the published map, which only the writer modifies. Closing lets the writer apply what
+ * was queued before, then fails whatever was enqueued while it shut down.
+ */
+public class SingleWriterScoreStore implements ScoreStore {
+
+    private static final long FULL_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+    private static final int IDLE_SPINS = Runtime.getRuntime().availableProcessors() > 1 ? 1 << 12 : 0;
+
+    private final ConcurrentHashMap<String, ScoreUsernameTimestamp> scoreMap;
+    private final MpscRingBuffer<Mutation> mutations;
+    private final Thread writer;
+    private volatile boolean writerParked;
+    private volatile boolean running = true;
+
+    public SingleWriterScoreStore(int initialCapacity, int queueCapacity) {
+        this.scoreMap = new ConcurrentHashMap<>(initialCapacity);
+        this.mutations = new MpscRingBuffer<>(queueCapacity);
+        this.writer = new Thread(this::runWriter, "score-store-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public ScoreUsernameTimestamp get(String name) {
+        return scoreMap.get(name);
+    }
+
+    @Override
+    public ScoreUsernameTimestamp computeIfAbsent(String name, Function<String, ScoreUsernameTimestamp> mappingFunction) {
+        return compute(name, (s, previous) -> previous == null ? mappingFunction.apply(s) : previous);
+    }
+
+    @Override
+    public ScoreUsernameTimestamp computeIfPresent(String name, BiFunction<String, ScoreUsernameTimestamp, ScoreUsernameTimestamp> remappingFunction) {
+        return compute(name, (s, previous) -> previous == null ? null : remappingFunction.apply(s, previous));
+    }
+
+    @Override
+    public ScoreUsernameTimestamp compute(String name, BiFunction<String, ScoreUsernameTimestamp, ScoreUsernameTimestamp> remappingFunction) {
+        if (Thread.currentThread() == writer) {
+            return apply(name, remappingFunction);
+        }
+        try {
+            return computeAsync(name, remappingFunction).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Enqueues a compute function, returning a future that the writer completes once it is applied.
+     * Waits while the queue is full, and fails once the store is closed.
+     */
+    public CompletableFuture<ScoreUsernameTimestamp> computeAsync(String name, BiFunction<String, ScoreUsernameTimestamp, ScoreUsernameTimestamp> remappingFunction) {
+        if (!running) {
+            throw closed();
+        }
+        Mutation mutation = new Mutation(name, remappingFunction);
+        while (!mutations.offer(mutation)) {
+            if (!running) {
+                throw closed();
+            }
+            LockSupport.parkNanos(FULL_BACKOFF_NANOS);
+        }
+        if (!running) {
+            // the writer may have stopped before seeing it
+            mutation.reject();
+        } else if (writerParked) {
+            LockSupport.unpark(writer);
+        }
+        return mutation;
+    }
+
+    @Override
+    public Collection<ScoreUsernameTimestamp> values() {
+        return scoreMap.values();
+    }
+
+    @Override
+    public int size() {
+        return scoreMap.size();
+    }
+
+    public void close() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join();
+        while (!mutations.isEmpty()) {
+            Mutation mutation = mutations.poll();
+            if (mutation != null) {
+                mutation.reject();
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    private void runWriter() {
+        int idle = 0;
+        while (running || !mutations.isEmpty()) {
+            Mutation mutation = mutations.poll();
+            if (mutation != null) {
+                idle = 0;
+                if (!mutation.claim()) {
+                    continue;
+                }
+                try {
+                    mutation.complete(apply(mutation.name, mutation.remappingFunction));
+                } catch (RuntimeException | Error e) {
+                    mutation.completeExceptionally(e);
+                }
+            } else if (!mutations.isEmpty()) {
+                // claimed, about to be published
+                Thread.yield();
+            } else if (idle++ < IDLE_SPINS) {
+                // a burst of writes often follows, and unparking costs more than spinning briefly
+                continue;
+            } else {
+                idle = 0;
+                writerParked = true;
+                if (mutations.isEmpty() && running) {
+                    LockSupport.park(this);
+                }
+                writerParked = false;
+            }
+        }
+    }
+
+    private ScoreUsernameTimestamp apply(String name, BiFunction<String, ScoreUsernameTimestamp, ScoreUsernameTimestamp> remappingFunction) {
+        ScoreUsernameTimestamp previous = scoreMap.get(name);
+        ScoreUsernameTimestamp computed = remappingFunction.apply(name, previous);
+        if (computed == null) {
+            if (previous != null) {
+                scoreMap.remove(name);
+            }
+        } else if (computed != previous) {
+            scoreMap.put(name, computed);
+        }
+        return computed;
+    }
+
+    private static IllegalStateException closed() {
+        return new IllegalStateException("Score store is closed");
+    }
+
+    private static final class Mutation extends CompletableFuture<ScoreUsernameTimestamp> {
+
+        private final String name;
+        private final BiFunction<String, ScoreUsernameTimestamp, ScoreUsernameTimestamp> remappingFunction;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private Mutation(String name, BiFunction<String, ScoreUsernameTimestamp, ScoreUsernameTimestamp> remappingFunction) {
+            this.name = name;
+            this.remappingFunction = remappingFunction;
+        }
+
+        /**
+         * Returns whether the caller is the first to settle this mutation, either by applying or by
+         * rejecting it, so that a rejected mutation is never applied.
+         */
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        private void reject() {
+            if (claim()) {
+                completeExceptionally(closed());
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package pact.producer.history;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import pact.producer.dto.ScoreUsernameTimestamp;
+import pact.producer.exception.UserNotFoundException;
+import pact.producer.handler.ScoreChangeListener;
+
+/**
+ * Append-only history of the scores written for each name, enabled with
+ * {@code scores.history.enabled}. A name's history is kept as an
+ * {@code int[]} of scores and a byte array of varint-encoded deltas between consecutive timestamps,
+ * which takes a few bytes per entry. Entries older than {@code scores.history.retention-ms}, or
+ * beyond the newest {@code scores.history.max-entries} of a name, are dropped in batches once a
+ * history exceeds either limit by a quarter, and the histories of names that have not been written
+ * within the retention period are swept periodically.
+ */
+@Component
+@ConditionalOnProperty(name = "scores.history.enabled", havingValue = "true")
+public class ScoreHistory implements ScoreChangeListener {
+
+    @Value("${scores.history.retention-ms:3600000}")
+    private long retentionMs;
+
+    @Value("${scores.history.max-entries:100}")
+    private int maxEntries;
+
+    private final ConcurrentHashMap<String, HistoryLog> logs = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService sweeper;
+
+    @PostConstruct
+    void start() {
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "score-history-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long sweepIntervalMs = Math.max(1000, retentionMs / 4);
+        sweeper.scheduleWithFixedDelay(this::sweep, sweepIntervalMs, sweepIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        sweeper.shutdownNow();
+    }
+
+    @Override
+    public void scoreCreated(ScoreUsernameTimestamp created) {
+        append(created);
+    }
+
+    @Override
+    public void scoreUpdated(ScoreUsernameTimestamp previous, ScoreUsernameTimestamp updated) {
+        append(updated);
+    }
+
+    /**
+     * Returns the scores written for {@code name} between {@code from} and {@code to} inclusive,
+     * oldest first; either bound may be {@code null}.
+     */
+    public List<ScoreUsernameTimestamp> getHistory(String name, Instant from, Instant to) throws UserNotFoundException {
+        HistoryLog log = logs.get(name);
+        if (log == null) {
+            throw new UserNotFoundException("Could not find history for username: " + name);
+        }
+        return log.read(name, from == null ? Long.MIN_VALUE : toNanos(from), to == null ? Long.MAX_VALUE : toNanos(to));
+    }
+
+    void sweep() {
+        long cutoff = toNanos(Instant.now()) - TimeUnit.MILLISECONDS.toNanos(retentionMs);
+        for (String name : logs.keySet()) {
+            logs.computeIfPresent(name, (n, log) -> log.lastNanos() < cutoff ? null : log);
+        }
+    }
+
+    private void append(ScoreUsernameTimestamp scoreUsernameTimestamp) {
+        if (scoreUsernameTimestamp.getTimestamp() == null) {
+            return;
+        }
+        long nanos = toNanos(scoreUsernameTimestamp.getTimestamp());
+        long retentionNanos = TimeUnit.MILLISECONDS.toNanos(retentionMs);
+        logs.compute(scoreUsernameTimestamp.getName(), (name, log) -> {
+            HistoryLog appended = log == null ? new HistoryLog() : log;
+            appended.append(scoreUsernameTimestamp.getScore(), nanos, retentionNanos, maxEntries);
+            return appended;
+        });
+    }
+
+    /**
+     * Converts to epoch nanoseconds, saturating outside roughly 1677-2262: this runs inside the
+     * store compute, where it must not throw.
+     */
+    private static long toNanos(Instant timestamp) {
+        try {
+            return Math.addExact(Math.multiplyExact(timestamp.getEpochSecond(), 1_000_000_000L), timestamp.getNano());
+        } catch (ArithmeticException e) {
+            return timestamp.getEpochSecond() < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    private static final class HistoryLog {
+
+        private int[] scores = new int[4];
+        private byte[] deltas = new byte[16];
+        private int size;
+        private int deltaLength;
+        private long firstNanos;
+        private long lastNanos;
+        private int cursor;
+
+        synchronized void append(int score, long nanos, long retentionNanos, int maxEntries) {
+            if (size == 0) {
+                firstNanos = nanos;
+            } else {
+                writeDelta(nanos - lastNanos);
+            }
+            if (size == scores.length) {
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            scores[size++] = score;
+            lastNanos = nanos;
+            if (size > maxEntries + maxEntries / 4 || firstNanos < nanos - retentionNanos - retentionNanos / 4) {
+                trim(nanos - retentionNanos, maxEntries);
+            }
+        }
+
+        synchronized long lastNanos() {
+            return lastNanos;
+        }
+
+        synchronized List<ScoreUsernameTimestamp> read(String name, long fromNanos, long toNanos) {
+            List<ScoreUsernameTimestamp> history = new ArrayList<>();
+            long nanos = firstNanos;
+            cursor = 0;
+            for (int i = 0; i < size; i++) {
+                if (i > 0) {
+                    nanos += readDelta();
+                }
+                if (nanos >= fromNanos && nanos <= toNanos) {
+                    history.add(new ScoreUsernameTimestamp(name, scores[i], Instant.ofEpochSecond(0, nanos)));
+                }
+            }
+            return history;
+        }
+
+        private void writeDelta(long delta) {
+            long zigZag = (delta << 1) ^ (delta >> 63);
+            if (deltas.length - deltaLength < 10) {
+                deltas = Arrays.copyOf(deltas, deltas.length * 2);
+            }
+            while ((zigZag & ~0x7fL) != 0) {
+                deltas[deltaLength++] = (byte) ((zigZag & 0x7f) | 0x80);
+                zigZag >>>= 7;
+            }
+            deltas[deltaLength++] = (byte) zigZag;
+        }
+
+        private long readDelta() {
+            long zigZag = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = deltas[cursor++];
+                zigZag |= (long) (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            return (zigZag >>> 1) ^ -(zigZag & 1);
+        }
+
+        /**
+         * Drops the entries older than {@code cutoffNanos} and all but the newest {@code maxEntries},
+         * always keeping the newest one.
+         */
+        private void trim(long cutoffNanos, int maxEntries) {
+            long nanos = firstNanos;
+            cursor = 0;
+            int dropped = 0;
+            while (dropped < size - 1 && (nanos < cutoffNanos || size - dropped > maxEntries)) {
+                nanos += readDelta();
+                dropped++;
+            }
+            firstNanos = nanos;
+            System.arraycopy(scores, dropped, scores, 0, size - dropped);
+            System.arraycopy(deltas, cursor, deltas, 0, deltaLength - cursor);
+            size -= dropped;
+            deltaLength -= cursor;
+        }
+    }
+}
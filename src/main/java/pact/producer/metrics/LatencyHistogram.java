@@ -0,0 +1,125 @@
+package pact.producer.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Concurrent log-linear histogram in the style of HdrHistogram: every power of two is split into
+ * 32 linear sub-buckets, which bounds the relative error of a reported value to about 3%.
+ * Recording is a couple of bit operations and an atomic increment, and never allocates once the
+ * recording thread's stripe exists.
+ *
+ * <p>Threads record into one of up to 16 stripes, picked by thread id and created on first use, so
+ * that concurrent recorders rarely contend on the same counters; reads merge the stripes.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+    private static final int STRIPES = Math.min(16, Integer.highestOneBit(Runtime.getRuntime().availableProcessors()) << 1);
+
+    private final AtomicReferenceArray<Stripe> stripes = new AtomicReferenceArray<>(STRIPES);
+
+    public void record(long value) {
+        long clamped = Math.max(0, value);
+        Stripe stripe = stripe();
+        stripe.counts.incrementAndGet(indexOf(clamped));
+        stripe.totalCount.incrementAndGet();
+        long max = stripe.maxValue.get();
+        while (clamped > max && !stripe.maxValue.compareAndSet(max, clamped)) {
+            max = stripe.maxValue.get();
+        }
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            Stripe stripe = stripes.get(i);
+            if (stripe != null) {
+                count += stripe.totalCount.get();
+            }
+        }
+        return count;
+    }
+
+    public long getMax() {
+        long max = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            Stripe stripe = stripes.get(i);
+            if (stripe != null) {
+                max = Math.max(max, stripe.maxValue.get());
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the highest value of the bucket holding the given percentile (0 to 100), or 0 when
+     * nothing was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int s = 0; s < STRIPES; s++) {
+            Stripe stripe = stripes.get(s);
+            if (stripe == null) {
+                continue;
+            }
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                long count = stripe.counts.get(i);
+                snapshot[i] += count;
+                total += count;
+            }
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long max = getMax();
+        long target = Math.max(1, (long) Math.ceil(total * Math.min(percentile, 100.0) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                return Math.min(highestValueOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    private Stripe stripe() {
+        long id = Thread.currentThread().getId();
+        int index = ((int) id * 0x9E3779B9 >>> 16) & (STRIPES - 1);
+        Stripe stripe = stripes.get(index);
+        if (stripe == null) {
+            stripes.compareAndSet(index, null, new Stripe());
+            stripe = stripes.get(index);
+        }
+        return stripe;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+    }
+
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    private static final class Stripe {
+
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+        private final AtomicLong totalCount = new AtomicLong();
+        private final AtomicLong maxValue = new AtomicLong();
+    }
+}
@@ -0,0 +1,62 @@
+package pact.producer.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.stereotype.Component;
+import pact.producer.dto.LatencySummary;
+import pact.producer.dto.ScoreMetricsSummary;
+
+@Component
+public class ScoreMetrics {
+
+    public enum Operation {
+        CREATE, UPDATE, GET, DELETE, GET_ALL
+    }
+
+    private final LatencyHistogram[] latencies = new LatencyHistogram[Operation.values().length];
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ScoreMetrics() {
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    public void record(Operation operation, long startNanos) {
+        latencies[operation.ordinal()].record(System.nanoTime() - startNanos);
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordDuplicate() {
+        duplicates.increment();
+    }
+
+    public void recordExpiration() {
+        expirations.increment();
+    }
+
+    public void recordEviction() {
+        evictions.increment();
+    }
+
+    public ScoreMetricsSummary summarize() {
+        Map<String, LatencySummary> operations = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            LatencyHistogram histogram = latencies[operation.ordinal()];
+            operations.put(operation.name(), new LatencySummary(
+                histogram.getCount(),
+                histogram.getValueAtPercentile(50),
+                histogram.getValueAtPercentile(99),
+                histogram.getValueAtPercentile(99.9),
+                histogram.getMax()));
+        }
+        return new ScoreMetricsSummary(operations, misses.sum(), duplicates.sum(), expirations.sum(), evictions.sum());
+    }
+}
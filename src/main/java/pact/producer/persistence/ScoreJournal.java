@@ -0,0 +1,307 @@
+package pact.producer.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import pact.producer.dto.ScoreUsernameTimestamp;
+import pact.producer.handler.ScoreChangeListener;
+
+/**
+ * Append-only, group-committed write-ahead log of the score mutations. Mutations are encoded into
+ * an in-memory buffer and a background thread writes the buffer to the current segment every
+ * {@code scores.persistence.flush-interval-ms}.
+ *
+ * <p>With {@code scores.persistence.fsync} set, the default, each flush is forced to disk and a
+ * write request is only acknowledged once a flush covering its records has been forced: the
+ * request wakes the flusher up and waits for it, and the requests that arrive during a flush share
+ * the next one. Without it, the journal is asynchronous: writes are acknowledged straight away and
+ * up to a flush interval of them can be lost on a crash.
+ *
+ * <p>Before each mutation, outside of the lock of the mutated name, writers block while more than
+ * {@code scores.persistence.max-pending-bytes} are waiting to be written because the disk has
+ * stalled or failed, until the flusher catches up. Bytes a failed flush could not write are kept,
+ * ahead of the newer records, for the next flush.
+ */
+@Component
+@ConditionalOnProperty(name = "scores.persistence.enabled", havingValue = "true")
+public class ScoreJournal implements ScoreChangeListener {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScoreJournal.class);
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private final Object bufferLock = new Object();
+    private final Object flushLock = new Object();
+
+    @Value("${scores.persistence.directory:data}")
+    private String directory;
+
+    @Value("${scores.persistence.flush-interval-ms:10}")
+    private long flushIntervalMs;
+
+    @Value("${scores.persistence.fsync:true}")
+    private boolean fsync;
+
+    @Value("${scores.persistence.max-pending-bytes:67108864}")
+    private long maxPendingBytes;
+
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private ByteBuffer flushing = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private int unflushed;
+    private long appended;
+    private long durable;
+
+    private FileChannel channel;
+    private long segment;
+    private Thread flusher;
+    private volatile boolean running;
+
+    @Override
+    public void beforeMutation() {
+        synchronized (bufferLock) {
+            awaitCapacity();
+        }
+    }
+
+    /**
+     * Waits, when {@code fsync} is set, until every record appended so far has been forced to disk.
+     */
+    @Override
+    public void beforeAcknowledgement() {
+        if (!fsync || !running) {
+            return;
+        }
+        synchronized (bufferLock) {
+            long target = appended;
+            if (durable >= target) {
+                return;
+            }
+            LockSupport.unpark(flusher);
+            while (durable < target && running) {
+                try {
+                    bufferLock.wait(flushIntervalMs + 1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void scoreCreated(ScoreUsernameTimestamp created) {
+        append(ScoreRecord.CREATE, created.getName(), created.getScore(), created.getTimestamp());
+    }
+
+    @Override
+    public void scoreUpdated(ScoreUsernameTimestamp previous, ScoreUsernameTimestamp updated) {
+        append(ScoreRecord.UPDATE, updated.getName(), updated.getScore(), updated.getTimestamp());
+    }
+
+    @Override
+    public void scoreDeleted(ScoreUsernameTimestamp deleted) {
+        append(ScoreRecord.DELETE, deleted.getName(), 0, null);
+    }
+
+    Path getDirectory() {
+        return Paths.get(directory);
+    }
+
+    List<Long> listSegments() throws IOException {
+        List<Long> segments = new ArrayList<>();
+        Files.createDirectories(getDirectory());
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(getDirectory(), SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : paths) {
+                String fileName = path.getFileName().toString();
+                segments.add(Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length())));
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+
+    /**
+     * Replays the records of a segment up to its last complete one.
+     */
+    void replay(long segment, Consumer<ScoreRecord> consumer) throws IOException {
+        try (FileChannel segmentChannel = FileChannel.open(segmentPath(segment), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = segmentChannel.map(FileChannel.MapMode.READ_ONLY, 0, segmentChannel.size());
+            ScoreRecord record;
+            while ((record = ScoreRecord.decode(buffer)) != null) {
+                consumer.accept(record);
+            }
+            if (buffer.hasRemaining()) {
+                LOGGER.warn("Ignoring {} trailing bytes of journal segment {}", buffer.remaining(), segment);
+            }
+        }
+    }
+
+    void open(long segment) throws IOException {
+        synchronized (flushLock) {
+            openSegment(segment);
+        }
+        running = true;
+        flusher = new Thread(this::runFlusher, "score-journal-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Flushes the current segment and starts appending to the next one, returning its number.
+     */
+    long rotate() throws IOException {
+        synchronized (flushLock) {
+            flush();
+            channel.close();
+            openSegment(segment + 1);
+            return segment;
+        }
+    }
+
+    void deleteSegmentsBefore(long segment) throws IOException {
+        for (long candidate : listSegments()) {
+            if (candidate < segment) {
+                Files.deleteIfExists(segmentPath(candidate));
+            }
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException, InterruptedException {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(flusher);
+        flusher.join();
+        synchronized (flushLock) {
+            flush();
+            channel.close();
+        }
+    }
+
+    private void append(byte type, String name, int score, Instant timestamp) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        int size = ScoreRecord.encodedSize(nameBytes);
+        synchronized (bufferLock) {
+            if (pending.remaining() < size) {
+                ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + size));
+                pending.flip();
+                grown.put(pending);
+                pending = grown;
+            }
+            ScoreRecord.encode(pending, type, nameBytes, score, timestamp);
+            appended += size;
+        }
+    }
+
+    /**
+     * Blocks while more than {@code maxPendingBytes} are waiting to be written. Writers that pass
+     * at the same time may each append a record, so the limit can be exceeded by that much.
+     */
+    private void awaitCapacity() {
+        boolean warned = false;
+        while (maxPendingBytes > 0 && running && pending.position() + unflushed > maxPendingBytes) {
+            if (!warned) {
+                LOGGER.warn("Score journal has {} bytes waiting to be written, blocking writers", pending.position() + unflushed);
+                warned = true;
+            }
+            try {
+                bufferLock.wait(flushIntervalMs + 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void runFlusher() {
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (running) {
+            LockSupport.parkNanos(this, flushIntervalNanos);
+            try {
+                synchronized (flushLock) {
+                    flush();
+                }
+            } catch (IOException e) {
+                LOGGER.error("Could not flush the score journal: ", e);
+            }
+        }
+    }
+
+    void flush() throws IOException {
+        long target;
+        synchronized (bufferLock) {
+            target = appended;
+            if (flushing.position() == 0) {
+                ByteBuffer swapped = pending;
+                pending = flushing;
+                flushing = swapped;
+            } else {
+                pending.flip();
+                if (flushing.remaining() < pending.remaining()) {
+                    ByteBuffer grown = ByteBuffer.allocate(flushing.position() + pending.remaining());
+                    flushing.flip();
+                    grown.put(flushing);
+                    flushing = grown;
+                }
+                flushing.put(pending);
+                pending.clear();
+            }
+            bufferLock.notifyAll();
+        }
+        flushing.flip();
+        try {
+            if (!flushing.hasRemaining()) {
+                return;
+            }
+            while (flushing.hasRemaining()) {
+                channel.write(flushing);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+            synchronized (bufferLock) {
+                durable = target;
+            }
+        } finally {
+            flushing.compact();
+            synchronized (bufferLock) {
+                unflushed = flushing.position();
+                bufferLock.notifyAll();
+            }
+        }
+    }
+
+    private void openSegment(long segment) throws IOException {
+        Files.createDirectories(getDirectory());
+        this.channel = FileChannel.open(segmentPath(segment), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.segment = segment;
+    }
+
+    private Path segmentPath(long segment) {
+        return getDirectory().resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+}
@@ -0,0 +1,198 @@
+package pact.producer.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import pact.producer.dto.ScoreUsernameTimestamp;
+import pact.producer.handler.ScoreHandler;
+
+/**
+ * Recovers the score store at startup from the newest snapshot plus the journal tail, then takes
+ * a compact binary snapshot every {@code scores.persistence.snapshot-interval-ms}.
+ *
+ * <p>Snapshot {@code N} is taken right after the journal rotated to segment {@code N}. It is
+ * fuzzy (mutations racing with it may or may not be in it), so recovery replays from segment
+ * {@code N - 1} onwards; replaying a record is idempotent, which makes the result exact.
+ */
+@Component
+@ConditionalOnProperty(name = "scores.persistence.enabled", havingValue = "true")
+public class ScorePersistence {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScorePersistence.class);
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final int MAGIC = 0x53435331;
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    @Autowired
+    private ScoreHandler scoreHandler;
+
+    @Autowired
+    private ScoreJournal scoreJournal;
+
+    @Value("${scores.persistence.snapshot-interval-ms:60000}")
+    private long snapshotIntervalMs;
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void recover() throws IOException {
+        List<Long> snapshots = listSnapshots();
+        long replayFrom = 0;
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            if (loadSnapshot(snapshots.get(i))) {
+                replayFrom = snapshots.get(i) - 1;
+                break;
+            }
+        }
+        long lastSegment = replayFrom;
+        int replayed = 0;
+        for (long segment : scoreJournal.listSegments()) {
+            if (segment >= replayFrom) {
+                scoreJournal.replay(segment, this::apply);
+                replayed++;
+            }
+            lastSegment = Math.max(lastSegment, segment);
+        }
+        LOGGER.info("Recovered {} scores from {} journal segment(s)", scoreHandler.getAllScores().size(), replayed);
+        scoreJournal.open(lastSegment + 1);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "score-snapshotter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::snapshotQuietly, snapshotIntervalMs, snapshotIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    void snapshot() throws IOException {
+        long segment = scoreJournal.rotate();
+        Path target = snapshotPath(segment);
+        Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+        int count = 0;
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            buffer.putInt(MAGIC);
+            for (ScoreUsernameTimestamp score : scoreHandler.getAllScores()) {
+                byte[] name = score.getName().getBytes(StandardCharsets.UTF_8);
+                if (buffer.remaining() < ScoreRecord.encodedSize(name)) {
+                    write(channel, buffer);
+                    if (buffer.remaining() < ScoreRecord.encodedSize(name)) {
+                        buffer = ByteBuffer.allocate(ScoreRecord.encodedSize(name));
+                    }
+                }
+                ScoreRecord.encode(buffer, ScoreRecord.CREATE, name, score.getScore(), score.getTimestamp());
+                count++;
+            }
+            byte[] none = new byte[0];
+            if (buffer.remaining() < ScoreRecord.encodedSize(none)) {
+                write(channel, buffer);
+            }
+            ScoreRecord.encode(buffer, ScoreRecord.END, none, count, null);
+            write(channel, buffer);
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        for (long snapshot : listSnapshots()) {
+            if (snapshot < segment) {
+                Files.deleteIfExists(snapshotPath(snapshot));
+            }
+        }
+        scoreJournal.deleteSegmentsBefore(segment - 1);
+        LOGGER.info("Wrote snapshot {} with {} scores", segment, count);
+    }
+
+    private void snapshotQuietly() {
+        try {
+            snapshot();
+        } catch (IOException | RuntimeException e) {
+            LOGGER.error("Could not write a score snapshot: ", e);
+        }
+    }
+
+    private boolean loadSnapshot(long snapshot) throws IOException {
+        List<ScoreUsernameTimestamp> scores = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(snapshotPath(snapshot), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 4 || buffer.getInt() != MAGIC) {
+                LOGGER.warn("Ignoring snapshot {}: bad header", snapshot);
+                return false;
+            }
+            ScoreRecord record;
+            while ((record = ScoreRecord.decode(buffer)) != null) {
+                if (record.getType() == ScoreRecord.END) {
+                    if (record.getScore().getScore() != scores.size()) {
+                        break;
+                    }
+                    scores.forEach(scoreHandler::restoreScore);
+                    return true;
+                }
+                scores.add(record.getScore());
+            }
+        }
+        LOGGER.warn("Ignoring snapshot {}: incomplete", snapshot);
+        return false;
+    }
+
+    private void apply(ScoreRecord record) {
+        if (record.getType() == ScoreRecord.DELETE) {
+            scoreHandler.restoreDeletion(record.getScore().getName());
+        } else {
+            scoreHandler.restoreScore(record.getScore());
+        }
+    }
+
+    private List<Long> listSnapshots() throws IOException {
+        List<Long> snapshots = new ArrayList<>();
+        Files.createDirectories(scoreJournal.getDirectory());
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(scoreJournal.getDirectory(), SNAPSHOT_PREFIX + "*" + SNAPSHOT_SUFFIX)) {
+            for (Path path : paths) {
+                String fileName = path.getFileName().toString();
+                snapshots.add(Long.parseLong(fileName.substring(SNAPSHOT_PREFIX.length(), fileName.length() - SNAPSHOT_SUFFIX.length())));
+            }
+        }
+        Collections.sort(snapshots);
+        return snapshots;
+    }
+
+    private Path snapshotPath(long snapshot) {
+        return scoreJournal.getDirectory().resolve(String.format("%s%020d%s", SNAPSHOT_PREFIX, snapshot, SNAPSHOT_SUFFIX));
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,105 @@
+package pact.producer.persistence;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.zip.CRC32;
+import pact.producer.dto.ScoreUsernameTimestamp;
+
+/**
+ * A framed, checksummed binary record shared by the journal and the snapshots:
+ * {@code [payload length][crc32][type][name length][name][score][epoch second][nano]}.
+ */
+final class ScoreRecord {
+
+    static final byte CREATE = 1;
+    static final byte UPDATE = 2;
+    static final byte DELETE = 3;
+    static final byte END = 4;
+
+    private static final int HEADER_SIZE = 8;
+    private static final int FIXED_PAYLOAD_SIZE = 1 + 4 + 4 + 8 + 4;
+    private static final int MAX_PAYLOAD_SIZE = 1 << 20;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final byte type;
+    private final ScoreUsernameTimestamp score;
+
+    private ScoreRecord(byte type, ScoreUsernameTimestamp score) {
+        this.type = type;
+        this.score = score;
+    }
+
+    byte getType() {
+        return type;
+    }
+
+    ScoreUsernameTimestamp getScore() {
+        return score;
+    }
+
+    static int encodedSize(byte[] name) {
+        return HEADER_SIZE + FIXED_PAYLOAD_SIZE + name.length;
+    }
+
+    static void encode(ByteBuffer target, byte type, byte[] name, int score, Instant timestamp) {
+        int start = target.position();
+        target.putInt(FIXED_PAYLOAD_SIZE + name.length);
+        target.putInt(0);
+        target.put(type);
+        target.putInt(name.length);
+        target.put(name);
+        target.putInt(score);
+        target.putLong(timestamp == null ? NO_TIMESTAMP : timestamp.getEpochSecond());
+        target.putInt(timestamp == null ? 0 : timestamp.getNano());
+        target.putInt(start + 4, checksum(target, start + HEADER_SIZE, target.position()));
+    }
+
+    static byte[] encode(byte type, ScoreUsernameTimestamp score) {
+        byte[] name = score.getName().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(encodedSize(name));
+        encode(buffer, type, name, score.getScore(), score.getTimestamp());
+        return buffer.array();
+    }
+
+    /**
+     * Reads the record at the buffer position, or returns {@code null} when the remaining bytes do
+     * not hold a complete record with a valid checksum (a torn or corrupted tail).
+     */
+    static ScoreRecord decode(ByteBuffer source) {
+        if (source.remaining() < HEADER_SIZE) {
+            return null;
+        }
+        int start = source.position();
+        int payloadSize = source.getInt(start);
+        if (payloadSize < FIXED_PAYLOAD_SIZE || payloadSize > MAX_PAYLOAD_SIZE || source.remaining() < HEADER_SIZE + payloadSize) {
+            return null;
+        }
+        int end = start + HEADER_SIZE + payloadSize;
+        if (source.getInt(start + 4) != checksum(source, start + HEADER_SIZE, end)) {
+            return null;
+        }
+        source.position(start + HEADER_SIZE);
+        byte type = source.get();
+        byte[] name = new byte[source.getInt()];
+        if (name.length != payloadSize - FIXED_PAYLOAD_SIZE) {
+            source.position(start);
+            return null;
+        }
+        source.get(name);
+        int score = source.getInt();
+        long epochSecond = source.getLong();
+        int nano = source.getInt();
+        Instant timestamp = epochSecond == NO_TIMESTAMP ? null : Instant.ofEpochSecond(epochSecond, nano);
+        return new ScoreRecord(type, new ScoreUsernameTimestamp(new String(name, StandardCharsets.UTF_8), score, timestamp));
+    }
+
+    private static int checksum(ByteBuffer buffer, int from, int to) {
+        ByteBuffer payload = buffer.duplicate();
+        payload.limit(to);
+        payload.position(from);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,239 @@
+package pact.producer.ratelimit;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Admission control for the score API, enabled with {@code scores.rate-limit.enabled}. Each client
+ * gets a token bucket for reads and one for writes per route, and at most
+ * {@code scores.rate-limit.max-concurrent-scans} requests that read the whole store run at once.
+ * Batches and imports write many scores in one request, so they are limited the same way, to
+ * {@code scores.rate-limit.max-concurrent-bulk-writes} at once. The {@code /internal/v1/scores}
+ * routes are not limited here: only the other shard nodes can reach them, relaying requests that
+ * were already admitted by the node they were sent to.
+ * Clients are identified by their address; the {@code scores.rate-limit.client-header} header is
+ * only trusted on requests coming from one of the {@code scores.rate-limit.trusted-proxies}.
+ * Requests over a limit are rejected straight away with a 429 and a {@code Retry-After} rather
+ * than queued.
+ */
+@Component
+@ConditionalOnProperty(name = "scores.rate-limit.enabled", havingValue = "true")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String SCORES_PATH = "/api/v1/scores";
+    private static final String EXPORT_PATH = SCORES_PATH + ":export";
+    private static final Set<String> BULK_WRITE_PATHS = new HashSet<>(Arrays.asList(SCORES_PATH + ":import", SCORES_PATH + ":batch"));
+    private static final byte[] TOO_MANY_REQUESTS = "{\"error\":\"Too many requests\"}".getBytes(StandardCharsets.UTF_8);
+    private static final long EVICTION_INTERVAL_SECONDS = 10;
+    private static final String NAME_ROUTE = "/{name}";
+    private static final Set<String> NAMELESS_ROUTES = new HashSet<>(Arrays.asList("/top", "/stats", "/changes"));
+    private static final Set<String> NAME_SUFFIXES = new HashSet<>(Arrays.asList("/rank", "/history"));
+
+    @Value("${scores.rate-limit.reads-per-second:1000}")
+    private double readsPerSecond;
+
+    @Value("${scores.rate-limit.writes-per-second:200}")
+    private double writesPerSecond;
+
+    @Value("${scores.rate-limit.burst:100}")
+    private int burst;
+
+    @Value("${scores.rate-limit.max-concurrent-scans:4}")
+    private int maxConcurrentScans;
+
+    @Value("${scores.rate-limit.max-concurrent-bulk-writes:2}")
+    private int maxConcurrentBulkWrites;
+
+    @Value("${scores.rate-limit.client-header:X-Client-Id}")
+    private String clientHeader;
+
+    @Value("${scores.rate-limit.trusted-proxies:}")
+    private Set<String> trustedProxies;
+
+    private RateLimiter reads;
+    private RateLimiter writes;
+    private Semaphore scans;
+    private Semaphore bulkWrites;
+    private ScheduledExecutorService evictor;
+
+    @PostConstruct
+    void start() {
+        reads = new RateLimiter(readsPerSecond, burst);
+        writes = new RateLimiter(writesPerSecond, burst);
+        scans = new Semaphore(maxConcurrentScans);
+        bulkWrites = new Semaphore(maxConcurrentBulkWrites);
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "score-rate-limit-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(() -> {
+            long now = System.nanoTime();
+            reads.evictIdle(now);
+            writes.evictIdle(now);
+        }, EVICTION_INTERVAL_SECONDS, EVICTION_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        evictor.shutdownNow();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !path(request).startsWith(SCORES_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        String key = clientOf(request) + ' ' + routeOf(path(request));
+        long waitNanos = (read ? reads : writes).tryAcquire(key, System.nanoTime());
+        if (waitNanos > 0) {
+            reject(response, waitNanos);
+            return;
+        }
+        Semaphore permits = concurrencyLimitOf(request, read);
+        if (permits == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!permits.tryAcquire()) {
+            reject(response, TimeUnit.SECONDS.toNanos(1));
+            return;
+        }
+        Permit permit = new Permit(permits);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // a streamed response holds its permit until it has been written
+                request.getAsyncContext().addListener(permit);
+            } else {
+                permit.release();
+            }
+        }
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        if (!trustedProxies.contains(address)) {
+            return address;
+        }
+        String client = request.getHeader(clientHeader);
+        return client == null || client.isEmpty() ? address : client;
+    }
+
+    /**
+     * Returns the route of a score API path, with the score name replaced so that all the names
+     * share a bucket.
+     */
+    static String routeOf(String path) {
+        String route = path.substring(SCORES_PATH.length());
+        if (!route.startsWith("/") || NAMELESS_ROUTES.contains(route)) {
+            return route;
+        }
+        int slash = route.indexOf('/', 1);
+        if (slash < 0) {
+            return NAME_ROUTE;
+        }
+        String suffix = route.substring(slash);
+        return NAME_ROUTE + (NAME_SUFFIXES.contains(suffix) ? suffix : "/*");
+    }
+
+    /**
+     * Returns the permits a request must hold while it runs, or {@code null} when its concurrency
+     * is not limited.
+     */
+    private Semaphore concurrencyLimitOf(HttpServletRequest request, boolean read) {
+        if (read) {
+            return isScan(request) ? scans : null;
+        }
+        return BULK_WRITE_PATHS.contains(path(request)) ? bulkWrites : null;
+    }
+
+    private static boolean isScan(HttpServletRequest request) {
+        String path = path(request);
+        if (path.equals(EXPORT_PATH)) {
+            return true;
+        }
+        return path.equals(SCORES_PATH)
+            && request.getParameter("limit") == null
+            && request.getParameter("prefix") == null
+            && request.getParameter("updatedSince") == null;
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000)));
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        response.setContentLength(TOO_MANY_REQUESTS.length);
+        response.getOutputStream().write(TOO_MANY_REQUESTS);
+    }
+
+    private static final class Permit implements AsyncListener {
+
+        private final Semaphore permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Permit(Semaphore permits) {
+            this.permits = permits;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package pact.producer.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets kept as the generic cell rate algorithm: each key holds only the theoretical
+ * arrival time of its next request, advanced with a compare-and-set, so admitting a request is a
+ * map lookup and one CAS with no lock. Keys live in their own map bins, so clients only contend
+ * with themselves. An idle bucket is retired with a CAS to {@link #EVICTED} before it is removed,
+ * so that a request racing with the eviction moves to a new bucket instead of being counted in the
+ * dropped one.
+ */
+class RateLimiter {
+
+    private static final long EVICTED = Long.MIN_VALUE;
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final ConcurrentHashMap<String, AtomicLong> arrivals = new ConcurrentHashMap<>();
+
+    /**
+     * Admits {@code ratePerSecond} requests per key on average and up to {@code burst} at once.
+     */
+    RateLimiter(double ratePerSecond, int burst) {
+        this.emissionIntervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(0, burst - 1);
+    }
+
+    /**
+     * Returns 0 when a request for {@code key} is admitted at {@code nowNanos}, otherwise how many
+     * nanoseconds to wait before it would be.
+     */
+    long tryAcquire(String key, long nowNanos) {
+        AtomicLong arrival = arrivals.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+        while (true) {
+            long theoretical = arrival.get();
+            if (theoretical == EVICTED) {
+                arrivals.remove(key, arrival);
+                arrival = arrivals.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+                continue;
+            }
+            long earliest = theoretical - burstToleranceNanos;
+            if (nowNanos - earliest < 0) {
+                return earliest - nowNanos;
+            }
+            long next = Math.max(theoretical - nowNanos, 0) + nowNanos + emissionIntervalNanos;
+            if (arrival.compareAndSet(theoretical, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Forgets the keys whose buckets have refilled by {@code nowNanos}, which behave exactly like
+     * keys never seen.
+     */
+    void evictIdle(long nowNanos) {
+        for (Map.Entry<String, AtomicLong> entry : arrivals.entrySet()) {
+            AtomicLong arrival = entry.getValue();
+            long theoretical = arrival.get();
+            if ((theoretical == EVICTED || theoretical - nowNanos <= 0) && arrival.compareAndSet(theoretical, EVICTED)) {
+                arrivals.remove(entry.getKey(), arrival);
+            }
+        }
+    }
+
+    int size() {
+        return arrivals.size();
+    }
+}
@@ -0,0 +1,227 @@
+package pact.producer.reactive;
+
+import static org.springframework.http.HttpStatus.BAD_REQUEST;
+import static org.springframework.http.HttpStatus.CONFLICT;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+import static org.springframework.http.HttpStatus.NOT_IMPLEMENTED;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import pact.producer.dto.ScorePatch;
+import pact.producer.dto.ScoreUsername;
+import pact.producer.dto.ScoreUsernameTimestamp;
+import pact.producer.exception.DuplicatedScoreException;
+import pact.producer.exception.ErrorWrapper;
+import pact.producer.exception.FeatureUnavailableException;
+import pact.producer.exception.ScoreConflictException;
+import pact.producer.exception.UserNotFoundException;
+import pact.producer.handler.ScoreHandler;
+import pact.producer.history.ScoreHistory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * WebFlux handler functions over {@link ScoreHandler}. The handler can block, on the single-writer
+ * store, the hot key combiner or the journal, so every call is made on the elastic scheduler rather
+ * than on the event loop.
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveScoreHandler {
+
+    @Autowired
+    private ScoreHandler scoreHandler;
+
+    @Autowired(required = false)
+    private ScoreHistory scoreHistory;
+
+    /**
+     * Tagged with the store version, unless a write is in progress, like the servlet ScoreController.
+     */
+    Mono<ServerResponse> getAllScores(ServerRequest request) {
+        Optional<String> limit = request.queryParam("limit");
+        if (limit.isPresent()) {
+            String after = request.queryParam("after").orElse(null);
+            return ok(() -> scoreHandler.getScoresAfter(after, Integer.parseInt(limit.get())));
+        }
+        long version = scoreHandler.getSettledVersion();
+        ServerResponse.BodyBuilder response = ServerResponse.ok().contentType(APPLICATION_JSON);
+        if (version >= 0) {
+            String etag = ScoreHandler.etag(version);
+            if (isNotModified(request, etag)) {
+                return ServerResponse.status(NOT_MODIFIED).eTag(etag).build();
+            }
+            response.eTag(etag);
+        }
+        return response.body(Flux.defer(() -> Flux.fromIterable(scoreHandler.getAllScores())).subscribeOn(Schedulers.elastic()), ScoreUsernameTimestamp.class);
+    }
+
+    Mono<ServerResponse> getScoresUpdatedSince(ServerRequest request) {
+        String since = request.queryParam("updatedSince").orElse(null);
+        String limit = request.queryParam("limit").orElse(String.valueOf(ScoreHandler.MAX_PAGE_SIZE));
+        return ok(() -> scoreHandler.getScoresUpdatedSince(Instant.parse(since), Integer.parseInt(limit)));
+    }
+
+    Mono<ServerResponse> getScoresWithPrefix(ServerRequest request) {
+        String prefix = request.queryParam("prefix").orElse(null);
+        String limit = request.queryParam("limit").orElse(String.valueOf(ScoreHandler.MAX_PAGE_SIZE));
+        return ok(() -> scoreHandler.getScoresWithPrefix(prefix, Integer.parseInt(limit)));
+    }
+
+    Mono<ServerResponse> getTopScores(ServerRequest request) {
+        String count = request.queryParam("n").orElse("10");
+        return ok(() -> scoreHandler.getTopScores(Integer.parseInt(count)));
+    }
+
+    Mono<ServerResponse> getScore(ServerRequest request) {
+        String name = request.pathVariable("name");
+        return Mono.fromCallable(() -> scoreHandler.getScore(name))
+            .subscribeOn(Schedulers.elastic())
+            .flatMap(score -> {
+                if (score.getVersion() == 0) {
+                    return ServerResponse.ok().contentType(APPLICATION_JSON).syncBody(score);
+                }
+                String etag = ScoreHandler.etag(score.getVersion());
+                if (isNotModified(request, etag)) {
+                    return ServerResponse.status(NOT_MODIFIED).eTag(etag).build();
+                }
+                return ServerResponse.ok().contentType(APPLICATION_JSON).eTag(etag).syncBody(score);
+            })
+            .onErrorResume(ReactiveScoreHandler::toError);
+    }
+
+    Mono<ServerResponse> getRank(ServerRequest request) {
+        String name = request.pathVariable("name");
+        return ok(() -> scoreHandler.getRank(name));
+    }
+
+    Mono<ServerResponse> getStats(ServerRequest request) {
+        return ok(scoreHandler::getStats);
+    }
+
+    Mono<ServerResponse> getHistory(ServerRequest request) {
+        if (scoreHistory == null) {
+            return unavailable("Score history");
+        }
+        String name = request.pathVariable("name");
+        Optional<String> from = request.queryParam("from");
+        Optional<String> to = request.queryParam("to");
+        return ok(() -> scoreHistory.getHistory(name, from.map(Instant::parse).orElse(null), to.map(Instant::parse).orElse(null)));
+    }
+
+    Mono<ServerResponse> createScore(ServerRequest request) {
+        return request.bodyToMono(ScoreUsername.class)
+            .flatMap(scoreUsername -> {
+                if (scoreUsername.getName() == null) {
+                    return error(BAD_REQUEST, "name must not be null");
+                }
+                return accepted(() -> scoreHandler.createScore(scoreUsername.getName(), scoreUsername.getScore()));
+            })
+            .switchIfEmpty(error(BAD_REQUEST, "Required request body is missing"))
+            .onErrorResume(this::isBadInput, e -> error(BAD_REQUEST, e.getMessage()));
+    }
+
+    Mono<ServerResponse> updateScore(ServerRequest request) {
+        String name = request.pathVariable("name");
+        return request.bodyToMono(Integer.class)
+            .flatMap(score -> accepted(() -> scoreHandler.updateScore(name, score)))
+            .switchIfEmpty(error(BAD_REQUEST, "Required request body is missing"))
+            .onErrorResume(this::isBadInput, e -> error(BAD_REQUEST, e.getMessage()));
+    }
+
+    Mono<ServerResponse> patchScore(ServerRequest request) {
+        String name = request.pathVariable("name");
+        return request.bodyToMono(ScorePatch.class)
+            .flatMap(patch -> {
+                if (patch.getType() == null || patch.getValue() == null) {
+                    return error(BAD_REQUEST, "type and value must not be null");
+                }
+                if (!patch.isExpectedGiven()) {
+                    return error(BAD_REQUEST, "expected is required for COMPARE_AND_SET");
+                }
+                return ok(() -> scoreHandler.patchScore(name, patch));
+            })
+            .switchIfEmpty(error(BAD_REQUEST, "Required request body is missing"))
+            .onErrorResume(this::isBadInput, e -> error(BAD_REQUEST, e.getMessage()));
+    }
+
+    Mono<ServerResponse> deleteScore(ServerRequest request) {
+        String name = request.pathVariable("name");
+        return accepted(() -> scoreHandler.deleteScore(name));
+    }
+
+    static Mono<ServerResponse> unavailable(String feature) {
+        return error(NOT_IMPLEMENTED, feature + " is not available on the reactive stack");
+    }
+
+    private static boolean isNotModified(ServerRequest request, String etag) {
+        return request.headers().header(HttpHeaders.IF_NONE_MATCH).stream()
+            .flatMap(value -> Arrays.stream(value.split(",")))
+            .map(String::trim)
+            .anyMatch(candidate -> candidate.equals(etag) || candidate.equals("*"));
+    }
+
+    private static Mono<ServerResponse> ok(Callable<?> query) {
+        return Mono.fromCallable(query)
+            .subscribeOn(Schedulers.elastic())
+            .flatMap(body -> ServerResponse.ok().contentType(APPLICATION_JSON).syncBody(body))
+            .onErrorResume(ReactiveScoreHandler::toError);
+    }
+
+    private static Mono<ServerResponse> accepted(Mutation mutation) {
+        return Mono.fromCallable(() -> {
+                mutation.apply();
+                return Boolean.TRUE;
+            })
+            .subscribeOn(Schedulers.elastic())
+            .flatMap(applied -> ServerResponse.accepted().build())
+            .onErrorResume(ReactiveScoreHandler::toError);
+    }
+
+    private static Mono<ServerResponse> toError(Throwable throwable) {
+        if (throwable instanceof UserNotFoundException) {
+            return error(NOT_FOUND, throwable.getMessage());
+        }
+        if (throwable instanceof DuplicatedScoreException || throwable instanceof NumberFormatException
+            || throwable instanceof DateTimeParseException) {
+            return error(BAD_REQUEST, throwable.getMessage());
+        }
+        if (throwable instanceof ScoreConflictException) {
+            return error(CONFLICT, throwable.getMessage());
+        }
+        if (throwable instanceof FeatureUnavailableException) {
+            return error(NOT_IMPLEMENTED, throwable.getMessage());
+        }
+        return Mono.error(throwable);
+    }
+
+    private boolean isBadInput(Throwable throwable) {
+        return throwable instanceof DecodingException || throwable instanceof ServerWebInputException;
+    }
+
+    private static Mono<ServerResponse> error(HttpStatus status, String message) {
+        return ServerResponse.status(status).contentType(APPLICATION_JSON).syncBody(new ErrorWrapper(message));
+    }
+
+    @FunctionalInterface
+    private interface Mutation {
+
+        void apply() throws Exception;
+    }
+}
@@ -0,0 +1,61 @@
+package pact.producer.reactive;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.DELETE;
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
+import static org.springframework.web.reactive.function.server.RequestPredicates.PATCH;
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RequestPredicates.PUT;
+import static org.springframework.web.reactive.function.server.RequestPredicates.queryParam;
+import static org.springframework.web.reactive.function.server.RouterFunctions.route;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import pact.producer.converter.ScoreBinaryHttpMessageConverter;
+
+/**
+ * Serves the {@code /api/v1/scores} contract on WebFlux when the application is started with
+ * {@code spring.main.web-application-type=reactive}, in place of the servlet-only ScoreController.
+ * The change feed, the binary format, batches, imports and exports are only served by the servlet
+ * stack and answer with a 501 here.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = Type.REACTIVE)
+public class ReactiveScoreRoutes {
+
+    private static final String BASE_PATH = "/api/v1/scores";
+
+    @Bean
+    RouterFunction<ServerResponse> scoreRoutes(ReactiveScoreHandler handler) {
+        return route(GET(BASE_PATH).and(acceptsExactly(ScoreBinaryHttpMessageConverter.APPLICATION_SCORE_BINARY)),
+                request -> ReactiveScoreHandler.unavailable("The binary format"))
+            .andRoute(GET(BASE_PATH).and(queryParam("updatedSince", value -> true)), handler::getScoresUpdatedSince)
+            .andRoute(GET(BASE_PATH).and(queryParam("prefix", value -> true)), handler::getScoresWithPrefix)
+            .andRoute(GET(BASE_PATH), handler::getAllScores)
+            .andRoute(GET(BASE_PATH + "/top"), handler::getTopScores)
+            .andRoute(GET(BASE_PATH + "/stats"), handler::getStats)
+            .andRoute(GET(BASE_PATH + "/changes"), request -> ReactiveScoreHandler.unavailable("The change feed"))
+            .andRoute(POST(BASE_PATH + ":batch"), request -> ReactiveScoreHandler.unavailable("Batching"))
+            .andRoute(POST(BASE_PATH + ":import"), request -> ReactiveScoreHandler.unavailable("Importing"))
+            .andRoute(GET(BASE_PATH + ":export"), request -> ReactiveScoreHandler.unavailable("Exporting"))
+            .andRoute(GET(BASE_PATH + "/{name}"), handler::getScore)
+            .andRoute(GET(BASE_PATH + "/{name}/rank"), handler::getRank)
+            .andRoute(GET(BASE_PATH + "/{name}/history"), handler::getHistory)
+            .andRoute(POST(BASE_PATH), handler::createScore)
+            .andRoute(PUT(BASE_PATH + "/{name}"), handler::updateScore)
+            .andRoute(PATCH(BASE_PATH + "/{name}"), handler::patchScore)
+            .andRoute(DELETE(BASE_PATH + "/{name}"), handler::deleteScore);
+    }
+
+    /**
+     * Unlike {@code RequestPredicates.accept}, does not match a wildcard or a missing Accept header.
+     */
+    private static RequestPredicate acceptsExactly(MediaType mediaType) {
+        return request -> request.headers().accept().stream().anyMatch(mediaType::includes);
+    }
+}
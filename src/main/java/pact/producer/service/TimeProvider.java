@@ -1,13 +1,61 @@
 package pact.producer.service;
 
 import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+/**
+ * Source of the score timestamps. When {@code scores.clock.resolution-ms} is positive, a
+ * background thread refreshes a cached clock at that resolution, so that reading the time on the
+ * write path is a volatile read: no system call and no allocation.
+ */
 @Service
 public class TimeProvider {
 
+  @Value("${scores.clock.resolution-ms:0}")
+  private long resolutionMs;
+
+  private volatile Instant cachedNow;
+  private volatile long cachedMillis;
+  private ScheduledExecutorService ticker;
+
+  @PostConstruct
+  void start() {
+    if (resolutionMs > 0) {
+      tick();
+      ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "score-clock");
+        thread.setDaemon(true);
+        return thread;
+      });
+      ticker.scheduleAtFixedRate(this::tick, resolutionMs, resolutionMs, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @PreDestroy
+  void stop() {
+    if (ticker != null) {
+      ticker.shutdownNow();
+    }
+  }
+
   public Instant now() {
-    return null;
+    return ticker != null ? cachedNow : Instant.now();
+  }
+
+  public long nowMillis() {
+    return ticker != null ? cachedMillis : System.currentTimeMillis();
+  }
+
+  private void tick() {
+    long millis = System.currentTimeMillis();
+    cachedMillis = millis;
+    cachedNow = Instant.ofEpochMilli(millis);
   }
 
 }
@@ -0,0 +1,53 @@
+package pact.producer.shard;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maps keys to nodes by hashing both onto a ring: a key belongs to the first node point at or after
+ * its hash. Each node is placed at {@code virtualNodes} points so that keys spread evenly and only
+ * the keys of an added or removed node move. Hashes only depend on {@link String#hashCode}, so all
+ * the nodes of a cluster agree on the owners.
+ */
+final class ConsistentHashRing {
+
+    private final int[] points;
+    private final String[] owners;
+
+    ConsistentHashRing(List<String> nodes, int virtualNodes) {
+        long[] entries = new long[nodes.size() * virtualNodes];
+        for (int node = 0; node < nodes.size(); node++) {
+            for (int i = 0; i < virtualNodes; i++) {
+                int point = hash(nodes.get(node) + "#" + i);
+                // sort by point, keeping the node index in the low bits
+                entries[node * virtualNodes + i] = ((long) point << 32) | node;
+            }
+        }
+        Arrays.sort(entries);
+        points = new int[entries.length];
+        owners = new String[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            points[i] = (int) (entries[i] >> 32);
+            owners[i] = nodes.get((int) entries[i]);
+        }
+    }
+
+    String nodeFor(String key) {
+        int position = Arrays.binarySearch(points, hash(key));
+        if (position < 0) {
+            position = -position - 1;
+        }
+        return owners[position == points.length ? 0 : position];
+    }
+
+    private static int hash(String value) {
+        // murmur3 finalizer, to spread the weak low bits of String.hashCode
+        int h = value.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,131 @@
+package pact.producer.shard;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+import pact.producer.dto.ScoreOperation;
+import pact.producer.dto.ScoreOperationResult;
+import pact.producer.dto.ScorePatch;
+import pact.producer.dto.ScoreUsername;
+import pact.producer.dto.ScoreUsernameTimestamp;
+import pact.producer.exception.DuplicatedScoreException;
+import pact.producer.exception.ScoreConflictException;
+import pact.producer.exception.UserNotFoundException;
+import pact.producer.handler.ScoreShard;
+
+/**
+ * Shard owned by another node, reached through its {@code /internal/v1/scores} endpoints, which
+ * always serve from the node's local shard. Domain errors of the remote node are raised again as
+ * the same exceptions, with the same messages.
+ */
+class RemoteScoreShard implements ScoreShard {
+
+    static final String SHARD_PATH = "/internal/v1/scores";
+
+    private static final ParameterizedTypeReference<List<ScoreUsernameTimestamp>> SCORE_LIST =
+        new ParameterizedTypeReference<List<ScoreUsernameTimestamp>>() {
+        };
+    private static final ParameterizedTypeReference<List<ScoreOperationResult>> RESULT_LIST =
+        new ParameterizedTypeReference<List<ScoreOperationResult>>() {
+        };
+
+    private final String baseUrl;
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+
+    RemoteScoreShard(String node, RestTemplate restTemplate, ObjectMapper objectMapper) {
+        this.baseUrl = node + SHARD_PATH;
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Collection<ScoreUsernameTimestamp> getAllScores() {
+        return restTemplate.exchange(baseUrl, HttpMethod.GET, null, SCORE_LIST).getBody();
+    }
+
+    @Override
+    public ScoreUsernameTimestamp getScore(String name) throws UserNotFoundException {
+        try {
+            return restTemplate.getForObject(baseUrl + "/{name}", ScoreUsernameTimestamp.class, name);
+        } catch (HttpClientErrorException e) {
+            throw userNotFound(e);
+        }
+    }
+
+    @Override
+    public void createScore(String name, int score) throws DuplicatedScoreException {
+        try {
+            restTemplate.postForLocation(baseUrl, new ScoreUsername(name, score));
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode() != HttpStatus.BAD_REQUEST) {
+                throw e;
+            }
+            throw new DuplicatedScoreException(errorOf(e));
+        }
+    }
+
+    @Override
+    public void updateScore(String name, int score) throws UserNotFoundException {
+        try {
+            restTemplate.put(baseUrl + "/{name}", score, name);
+        } catch (HttpClientErrorException e) {
+            throw userNotFound(e);
+        }
+    }
+
+    @Override
+    public void deleteScore(String name) throws UserNotFoundException {
+        try {
+            restTemplate.delete(baseUrl + "/{name}", name);
+        } catch (HttpClientErrorException e) {
+            throw userNotFound(e);
+        }
+    }
+
+    @Override
+    public ScoreUsernameTimestamp patchScore(String name, ScorePatch patch) throws UserNotFoundException, ScoreConflictException {
+        try {
+            return restTemplate.postForObject(baseUrl + "/{name}/patch", patch, ScoreUsernameTimestamp.class, name);
+        } catch (HttpClientErrorException e) {
+            if (e.getStatusCode() == HttpStatus.CONFLICT) {
+                throw new ScoreConflictException(errorOf(e));
+            }
+            throw userNotFound(e);
+        }
+    }
+
+    @Override
+    public List<ScoreUsernameTimestamp> getTopScores(int count) {
+        return restTemplate.exchange(baseUrl + "/top?n={count}", HttpMethod.GET, null, SCORE_LIST, count).getBody();
+    }
+
+    @Override
+    public List<ScoreOperationResult> applyBatch(List<ScoreOperation> operations) {
+        return restTemplate.exchange(baseUrl + "/batch", HttpMethod.POST, new HttpEntity<>(operations), RESULT_LIST).getBody();
+    }
+
+    private UserNotFoundException userNotFound(HttpClientErrorException e) {
+        if (e.getStatusCode() != HttpStatus.NOT_FOUND) {
+            throw e;
+        }
+        return new UserNotFoundException(errorOf(e));
+    }
+
+    private String errorOf(HttpClientErrorException e) {
+        try {
+            JsonNode error = objectMapper.readTree(e.getResponseBodyAsString()).get("error");
+            return error == null ? e.getMessage() : error.asText();
+        } catch (IOException ignored) {
+            return e.getMessage();
+        }
+    }
+}
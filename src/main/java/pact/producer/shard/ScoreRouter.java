@@ -0,0 +1,225 @@
+package pact.producer.shard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import pact.producer.dto.ScoreOperation;
+import pact.producer.dto.ScoreOperationResult;
+import pact.producer.dto.ScoreUsernameTimestamp;
+import pact.producer.exception.FeatureUnavailableException;
+import pact.producer.handler.ScoreHandler;
+import pact.producer.handler.ScoreShard;
+
+/**
+ * Routes names to the shard that owns them. Sharding is enabled by listing the base URLs of all
+ * the nodes, this one included, in {@code scores.sharding.nodes} and naming this node in
+ * {@code scores.sharding.self}; otherwise every name is owned by the local {@link ScoreHandler}.
+ * The nodes authenticate to each other with the shared {@code scores.sharding.secret}.
+ */
+@Component
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class ScoreRouter {
+
+    @Autowired
+    private ScoreHandler scoreHandler;
+
+    @Autowired
+    private RestTemplateBuilder restTemplateBuilder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${scores.sharding.nodes:}")
+    private String[] nodes;
+
+    @Value("${scores.sharding.self:}")
+    private String self;
+
+    @Value("${scores.sharding.virtual-nodes:128}")
+    private int virtualNodes;
+
+    @Value("${scores.sharding.timeout-ms:2000}")
+    private int timeoutMs;
+
+    @Value("${scores.sharding.secret:}")
+    private String secret;
+
+    private ConsistentHashRing ring;
+    private Map<String, ScoreShard> shards;
+    private ExecutorService fanoutExecutor;
+
+    @PostConstruct
+    void start() {
+        if (nodes.length == 0) {
+            return;
+        }
+        List<String> nodeList = Arrays.asList(nodes);
+        if (!nodeList.contains(self)) {
+            throw new IllegalStateException("scores.sharding.self " + self + " is not one of scores.sharding.nodes " + nodeList);
+        }
+        if (secret.isEmpty()) {
+            throw new IllegalStateException("scores.sharding.secret must be set when scores.sharding.nodes is");
+        }
+        RestTemplate restTemplate = restTemplateBuilder
+            .setConnectTimeout(timeoutMs)
+            .setReadTimeout(timeoutMs)
+            .additionalInterceptors((request, body, execution) -> {
+                request.getHeaders().set(ShardAccessFilter.SECRET_HEADER, secret);
+                return execution.execute(request, body);
+            })
+            .build();
+        shards = new HashMap<>();
+        for (String node : nodeList) {
+            shards.put(node, node.equals(self) ? scoreHandler : new RemoteScoreShard(node, restTemplate, objectMapper));
+        }
+        ring = new ConsistentHashRing(nodeList, virtualNodes);
+        AtomicInteger threads = new AtomicInteger();
+        fanoutExecutor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "score-shard-fanout-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        if (fanoutExecutor != null) {
+            fanoutExecutor.shutdownNow();
+        }
+    }
+
+    public boolean isSharded() {
+        return ring != null;
+    }
+
+    public ScoreShard shardFor(String name) {
+        return isSharded() ? shards.get(ring.nodeFor(name)) : scoreHandler;
+    }
+
+    /**
+     * Returns the scores of all the shards, asking the remote ones concurrently.
+     */
+    public Collection<ScoreUsernameTimestamp> getAllScores() {
+        if (!isSharded()) {
+            return scoreHandler.getAllScores();
+        }
+        return gather(ScoreShard::getAllScores);
+    }
+
+    /**
+     * Returns the highest scores across the shards: the top {@code count} of every shard, merged.
+     */
+    public List<ScoreUsernameTimestamp> getTopScores(int count) {
+        if (!isSharded()) {
+            return scoreHandler.getTopScores(count);
+        }
+        List<ScoreUsernameTimestamp> scores = gather(shard -> shard.getTopScores(count));
+        scores.sort(ScoreHandler.RANKING_ORDER);
+        return scores.subList(0, Math.min(scores.size(), Math.min(count, ScoreHandler.MAX_PAGE_SIZE)));
+    }
+
+    /**
+     * Applies a batch, sending each shard its own operations, concurrently, and returning the
+     * results in the order of the operations. Operations keep their order within a name. When a
+     * shard cannot be reached, its operations are reported as unavailable; the other shards still
+     * apply theirs.
+     */
+    public List<ScoreOperationResult> applyBatch(List<ScoreOperation> operations) {
+        if (!isSharded()) {
+            return scoreHandler.applyBatch(operations);
+        }
+        Map<ScoreShard, List<Integer>> positions = new HashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            String name = operations.get(i).getName();
+            positions.computeIfAbsent(name == null ? scoreHandler : shardFor(name), shard -> new ArrayList<>()).add(i);
+        }
+        Map<ScoreShard, CompletableFuture<List<ScoreOperationResult>>> remoteResults = new HashMap<>();
+        for (Map.Entry<ScoreShard, List<Integer>> entry : positions.entrySet()) {
+            if (entry.getKey() != scoreHandler) {
+                List<ScoreOperation> shardOperations = select(operations, entry.getValue());
+                remoteResults.put(entry.getKey(), CompletableFuture.supplyAsync(() -> entry.getKey().applyBatch(shardOperations), fanoutExecutor));
+            }
+        }
+        ScoreOperationResult[] results = new ScoreOperationResult[operations.size()];
+        List<Integer> local = positions.get(scoreHandler);
+        if (local != null) {
+            place(scoreHandler.applyBatch(select(operations, local)), local, results);
+        }
+        for (Map.Entry<ScoreShard, CompletableFuture<List<ScoreOperationResult>>> remote : remoteResults.entrySet()) {
+            List<Integer> shardPositions = positions.get(remote.getKey());
+            try {
+                place(remote.getValue().join(), shardPositions, results);
+            } catch (CompletionException e) {
+                for (int position : shardPositions) {
+                    String name = operations.get(position).getName();
+                    results[position] = new ScoreOperationResult(name, HttpStatus.SERVICE_UNAVAILABLE.value(), "Could not reach the shard of " + name);
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    private static List<ScoreOperation> select(List<ScoreOperation> operations, List<Integer> positions) {
+        List<ScoreOperation> selected = new ArrayList<>(positions.size());
+        for (int position : positions) {
+            selected.add(operations.get(position));
+        }
+        return selected;
+    }
+
+    private static void place(List<ScoreOperationResult> shardResults, List<Integer> positions, ScoreOperationResult[] results) {
+        for (int i = 0; i < positions.size(); i++) {
+            results[positions.get(i)] = shardResults.get(i);
+        }
+    }
+
+    /**
+     * Throws for the queries that would need every shard and are not merged across them.
+     */
+    public void requireUnsharded(String feature) {
+        if (isSharded()) {
+            throw new FeatureUnavailableException(feature + " is not available when sharded, as it would only cover this node");
+        }
+    }
+
+    private List<ScoreUsernameTimestamp> gather(Function<ScoreShard, Collection<ScoreUsernameTimestamp>> query) {
+        List<CompletableFuture<Collection<ScoreUsernameTimestamp>>> remoteScores = new ArrayList<>();
+        for (ScoreShard shard : shards.values()) {
+            if (shard != scoreHandler) {
+                remoteScores.add(CompletableFuture.supplyAsync(() -> query.apply(shard), fanoutExecutor));
+            }
+        }
+        List<ScoreUsernameTimestamp> scores = new ArrayList<>(query.apply(scoreHandler));
+        try {
+            for (CompletableFuture<Collection<ScoreUsernameTimestamp>> remote : remoteScores) {
+                scores.addAll(remote.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,53 @@
+package pact.producer.shard;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Only lets the other nodes of the cluster reach the {@code /internal/v1/scores} endpoints: they
+ * send the shared {@code scores.sharding.secret} in the {@link #SECRET_HEADER} header.
+ */
+@Component
+@ConditionalOnProperty(name = "scores.sharding.nodes")
+@ConditionalOnWebApplication(type = Type.SERVLET)
+public class ShardAccessFilter extends OncePerRequestFilter {
+
+    static final String SECRET_HEADER = "X-Shard-Secret";
+
+    private static final byte[] FORBIDDEN = "{\"error\":\"Internal endpoints are restricted to the shard nodes\"}".getBytes(StandardCharsets.UTF_8);
+
+    @Value("${scores.sharding.secret:}")
+    private String secret;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().substring(request.getContextPath().length()).startsWith(RemoteScoreShard.SHARD_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String presented = request.getHeader(SECRET_HEADER);
+        if (!secret.isEmpty() && presented != null
+            && MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8), presented.getBytes(StandardCharsets.UTF_8))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        response.setContentLength(FORBIDDEN.length);
+        response.getOutputStream().write(FORBIDDEN);
+    }
+}
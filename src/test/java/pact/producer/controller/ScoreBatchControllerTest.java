@@ -0,0 +1,85 @@
+package pact.producer.controller;
+
+import static java.util.Arrays.asList;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import pact.producer.dto.ScoreOperation;
+import pact.producer.dto.ScoreOperation.Type;
+import pact.producer.dto.ScoreOperationResult;
+import pact.producer.handler.ScoreHandler;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+class ScoreBatchControllerTest {
+
+    private static final String BATCH_PATH = "/api/v1/scores:batch";
+    private static final List<ScoreOperation> OPERATIONS = asList(
+        new ScoreOperation(Type.CREATE, "john", 123),
+        new ScoreOperation(Type.DELETE, "pete", null));
+    private static final List<ScoreOperationResult> RESULTS = asList(
+        new ScoreOperationResult("john", 202, null),
+        new ScoreOperationResult("pete", 404, "Could not find username: pete"));
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ScoreHandler scoreHandler;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(this.webApplicationContext).build();
+        when(scoreHandler.applyBatch(anyList())).thenReturn(RESULTS);
+    }
+
+    @Test
+    @DisplayName("POST on " + BATCH_PATH + " should apply the operations and return a result for each one")
+    void applyBatch() throws Exception {
+        mockMvc.perform(post(BATCH_PATH)
+                .contentType(APPLICATION_JSON)
+                .content(convertToJson(OPERATIONS)))
+                .andExpect(status().isOk())
+                .andExpect(content().json(convertToJson(RESULTS)));
+
+        verify(scoreHandler).applyBatch(OPERATIONS);
+    }
+
+    @Test
+    @DisplayName("POST on " + BATCH_PATH + " should return a 400 when the body is not a list of operations")
+    void applyBatch_shouldReturnA400_whenBodyIsInvalid() throws Exception {
+        mockMvc.perform(post(BATCH_PATH)
+                .contentType(APPLICATION_JSON)
+                .content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String convertToJson(Object value) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(value);
+    }
+
+}
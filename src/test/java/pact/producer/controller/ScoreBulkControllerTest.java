@@ -0,0 +1,88 @@
+package pact.producer.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import pact.producer.dto.ScoreUsernameTimestamp;
+import pact.producer.handler.ScoreHandler;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@DirtiesContext(classMode = ClassMode.AFTER_EACH_TEST_METHOD)
+class ScoreBulkControllerTest {
+
+    private static final String IMPORT_PATH = "/api/v1/scores:import";
+    private static final String EXPORT_PATH = "/api/v1/scores:export";
+    private static final Instant TIMESTAMP = Instant.parse("2018-08-05T19:56:16.685Z");
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ScoreHandler scoreHandler;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(this.webApplicationContext).build();
+    }
+
+    @Test
+    @DisplayName("POST on " + IMPORT_PATH + " should import NDJSON and report the rejected lines")
+    void importNdjson() throws Exception {
+        mockMvc.perform(post(IMPORT_PATH)
+                .contentType(ScoreController.APPLICATION_NDJSON_VALUE)
+                .content("{\"name\":\"john\",\"score\":1,\"timestamp\":\"" + TIMESTAMP + "\"}\n"
+                    + "{\"name\":\"pete\"}\n"
+                    + "{\"name\":\"john\",\"score\":2,\"timestamp\":\"" + TIMESTAMP + "\"}\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"imported\":2,\"rejected\":1,\"errors\":[\"line 2: score must be an integer\"]}"));
+
+        assertEquals(new ScoreUsernameTimestamp("john", 2, TIMESTAMP), scoreHandler.getScore("john"));
+    }
+
+    @Test
+    @DisplayName("POST on " + IMPORT_PATH + " should import CSV")
+    void importCsv() throws Exception {
+        mockMvc.perform(post(IMPORT_PATH)
+                .contentType(ScoreBulkController.TEXT_CSV_VALUE)
+                .content("name,score,timestamp\njohn,1," + TIMESTAMP + "\n\"smith, pete\",2," + TIMESTAMP + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"imported\":2,\"rejected\":0,\"errors\":[]}"));
+
+        assertEquals(new ScoreUsernameTimestamp("smith, pete", 2, TIMESTAMP), scoreHandler.getScore("smith, pete"));
+    }
+
+    @Test
+    @DisplayName("GET on " + EXPORT_PATH + " should stream the scores as CSV")
+    void exportCsv() throws Exception {
+        scoreHandler.putScore("smith, pete", 2, TIMESTAMP);
+        MvcResult result = mockMvc.perform(get(EXPORT_PATH).accept(ScoreBulkController.TEXT_CSV_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("name,score,timestamp\n\"smith, pete\",2," + TIMESTAMP + "\n"));
+    }
+}
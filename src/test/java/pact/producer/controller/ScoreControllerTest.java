@@ -1,21 +1,30 @@
 package pact.producer.controller;
 
 import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -24,15 +33,26 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
+import pact.producer.converter.ScoreBinaryHttpMessageConverter;
+import pact.producer.dto.ScoreHistogramBucket;
+import pact.producer.dto.ScorePatch;
+import pact.producer.dto.ScoreRank;
+import pact.producer.dto.ScoreStats;
 import pact.producer.dto.ScoreUsername;
 import pact.producer.dto.ScoreUsernameTimestamp;
 import pact.producer.exception.DuplicatedScoreException;
+import pact.producer.exception.FeatureUnavailableException;
+import pact.producer.exception.ScoreConflictException;
 import pact.producer.exception.UserNotFoundException;
 import pact.producer.handler.ScoreHandler;
+import pact.producer.history.ScoreHistory;
 
 @ExtendWith(SpringExtension.class)
 @SpringBootTest
@@ -54,6 +74,9 @@ class ScoreControllerTest {
     @MockBean
     private ScoreHandler scoreHandler;
 
+    @MockBean
+    private ScoreHistory scoreHistory;
+
     private MockMvc mockMvc;
 
     @BeforeEach
@@ -71,6 +94,40 @@ class ScoreControllerTest {
                 .andExpect(content().json(convertToJson(singletonList(SCORE_USERNAME_TIMESTAMP))));
     }
 
+    @Test
+    @DisplayName("GET on " + BASE_PATH + " should return a 304 when the store version has not changed")
+    void getAllScores_shouldReturnA304_whenNotModified() throws Exception {
+        when(scoreHandler.getSettledVersion()).thenReturn(7L);
+
+        mockMvc.perform(get(BASE_PATH).header("If-None-Match", ScoreHandler.etag(7)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", ScoreHandler.etag(7)))
+                .andExpect(content().string(""));
+
+        verify(scoreHandler, never()).getAllScores();
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + " should ignore an ETag of the same version from a previous run")
+    void getAllScores_shouldReturnA200_whenTheETagIsFromAnotherRun() throws Exception {
+        when(scoreHandler.getSettledVersion()).thenReturn(7L);
+
+        mockMvc.perform(get(BASE_PATH).header("If-None-Match", "\"7\""))
+                .andExpect(status().isOk())
+                .andExpect(content().json(convertToJson(singletonList(SCORE_USERNAME_TIMESTAMP))));
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + " should return the scores without an ETag while a write is in progress")
+    void getAllScores_shouldNotReturnAnETag_whileAWriteIsInProgress() throws Exception {
+        when(scoreHandler.getSettledVersion()).thenReturn(-1L);
+
+        mockMvc.perform(get(BASE_PATH).header("If-None-Match", ScoreHandler.etag(7)))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(content().json(convertToJson(singletonList(SCORE_USERNAME_TIMESTAMP))));
+    }
+
     @Test
     @DisplayName("GET on " + BASE_PATH + " should return a 500 when internal exception")
     void getAllScores_shouldReturnA500_whenInternalException() throws Exception {
@@ -81,6 +138,111 @@ class ScoreControllerTest {
             .andExpect(content().json("{\"error\":\"Internal Server Exception\"}"));
     }
 
+    @Test
+    @DisplayName("GET on " + BASE_PATH + "?after=&limit= should return a page of scores")
+    void getScoresPage() throws Exception {
+        when(scoreHandler.getScoresAfter("adam", 1)).thenReturn(singletonList(SCORE_USERNAME_TIMESTAMP));
+
+        mockMvc.perform(get(BASE_PATH).param("after", "adam").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(convertToJson(singletonList(SCORE_USERNAME_TIMESTAMP))));
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + "?prefix=&limit= should return the scores whose names start with the prefix")
+    void getScoresWithPrefix() throws Exception {
+        when(scoreHandler.getScoresWithPrefix("jo", 10)).thenReturn(singletonList(SCORE_USERNAME_TIMESTAMP));
+
+        mockMvc.perform(get(BASE_PATH).param("prefix", "jo").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(convertToJson(singletonList(SCORE_USERNAME_TIMESTAMP))));
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + "?updatedSince= should return the scores updated since then")
+    void getScoresUpdatedSince() throws Exception {
+        when(scoreHandler.getScoresUpdatedSince(TIMESTAMP, 5)).thenReturn(singletonList(SCORE_USERNAME_TIMESTAMP));
+
+        mockMvc.perform(get(BASE_PATH).param("updatedSince", TIMESTAMP.toString()).param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(convertToJson(singletonList(SCORE_USERNAME_TIMESTAMP))));
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + "/stats should return the distribution of the scores")
+    void getStats() throws Exception {
+        ScoreStats stats = new ScoreStats(1, SCORE, (double) SCORE, SCORE, SCORE, SCORE, SCORE, SCORE,
+            singletonList(new ScoreHistogramBucket(64, 127, 1)));
+        when(scoreHandler.getStats()).thenReturn(stats);
+
+        mockMvc.perform(get(BASE_PATH + "/stats"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(convertToJson(stats)));
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + "/{name}/history should return the history of the score")
+    void getHistory() throws Exception {
+        when(scoreHistory.getHistory(USER_NAME, TIMESTAMP, null)).thenReturn(singletonList(SCORE_USERNAME_TIMESTAMP));
+
+        mockMvc.perform(get(BASE_PATH + "/" + USER_NAME + "/history").param("from", TIMESTAMP.toString()))
+                .andExpect(status().isOk())
+                .andExpect(content().json(convertToJson(singletonList(SCORE_USERNAME_TIMESTAMP))));
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + "/{name}/history should return a 501 when the history is disabled")
+    void getHistory_shouldReturnA501_whenDisabled() throws Exception {
+        ScoreController scoreController = webApplicationContext.getBean(ScoreController.class);
+        ReflectionTestUtils.setField(scoreController, "scoreHistory", null);
+        try {
+            mockMvc.perform(get(BASE_PATH + "/" + USER_NAME + "/history"))
+                    .andExpect(status().isNotImplemented())
+                    .andExpect(content().json("{\"error\":\"Score history is disabled\"}"));
+        } finally {
+            ReflectionTestUtils.setField(scoreController, "scoreHistory", scoreHistory);
+        }
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + "/{name}/history should return a 404 when there is no history")
+    void getHistory_shouldReturnA404_whenThereIsNoHistory() throws Exception {
+        when(scoreHistory.getHistory(USER_NAME, null, null)).thenThrow(new UserNotFoundException("Could not find history for username: " + USER_NAME));
+
+        mockMvc.perform(get(BASE_PATH + "/" + USER_NAME + "/history"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().json("{\"error\":\"Could not find history for username: " + USER_NAME + "\"}"));
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + " accepting NDJSON should stream one score per line")
+    void streamAllScores() throws Exception {
+        MvcResult result = mockMvc.perform(get(BASE_PATH).accept(ScoreController.APPLICATION_NDJSON_VALUE))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(convertToJson(SCORE_USERNAME_TIMESTAMP) + "\n"));
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + " accepting the binary format should return length-prefixed records")
+    void getAllScoresBinary() throws Exception {
+        byte[] body = mockMvc.perform(get(BASE_PATH).accept(ScoreBinaryHttpMessageConverter.APPLICATION_SCORE_BINARY))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ScoreBinaryHttpMessageConverter.APPLICATION_SCORE_BINARY))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ByteBuffer record = ByteBuffer.wrap(body);
+        assertEquals(16 + USER_NAME.length(), record.getInt());
+        assertEquals(SCORE, record.getInt());
+        assertEquals(TIMESTAMP, Instant.ofEpochSecond(record.getLong(), record.getInt()));
+        byte[] name = new byte[record.remaining()];
+        record.get(name);
+        assertEquals(USER_NAME, new String(name, StandardCharsets.UTF_8));
+    }
+
     @Test
     @DisplayName("GET on " + BASE_PATH + "/{username} should return the username score")
     void getScore_shouldReturnScoreForUser() throws Exception {
@@ -91,6 +253,20 @@ class ScoreControllerTest {
         verify(scoreHandler).getScore(USER_NAME);
     }
 
+    @Test
+    @DisplayName("GET on " + BASE_PATH + "/{username} should return a 304 when the score has not changed")
+    void getScore_shouldReturnA304_whenNotModified() throws Exception {
+        when(scoreHandler.getScore(USER_NAME)).thenReturn(new ScoreUsernameTimestamp(USER_NAME, SCORE, TIMESTAMP, 3));
+
+        mockMvc.perform(get(BASE_PATH + "/" + USER_NAME))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ScoreHandler.etag(3)));
+
+        mockMvc.perform(get(BASE_PATH + "/" + USER_NAME).header("If-None-Match", ScoreHandler.etag(3)))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @DisplayName("GET on " + BASE_PATH + "/{username} should return a 404 when user not found")
     void getScore_shouldReturnA404_whenUserNotFound() throws Exception {
@@ -101,6 +277,71 @@ class ScoreControllerTest {
             .andExpect(content().json("{\"error\":\"Could not find username: " + USER_NAME + "\"}"));
     }
 
+    @Test
+    @DisplayName("the internal shard endpoints should not exist when sharding is off")
+    void internalEndpoints_shouldNotExist_whenNotSharded() throws Exception {
+        mockMvc.perform(get("/internal/v1/scores"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + "/top should return the top scores")
+    void getTopScores() throws Exception {
+        when(scoreHandler.getTopScores(3)).thenReturn(singletonList(SCORE_USERNAME_TIMESTAMP));
+
+        mockMvc.perform(get(BASE_PATH + "/top").param("n", "3"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(convertToJson(singletonList(SCORE_USERNAME_TIMESTAMP))));
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + "/top should return a 501 when the store engine cannot rank")
+    void getTopScores_shouldReturnA501_whenUnavailable() throws Exception {
+        when(scoreHandler.getTopScores(anyInt())).thenThrow(new FeatureUnavailableException("Ranking requires the score indexes"));
+
+        mockMvc.perform(get(BASE_PATH + "/top"))
+                .andExpect(status().isNotImplemented())
+                .andExpect(content().json("{\"error\":\"Ranking requires the score indexes\"}"));
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + "/changes should return a 501 when the change feed is disabled")
+    void streamChanges_shouldReturnA501_whenDisabled() throws Exception {
+        mockMvc.perform(get(BASE_PATH + "/changes").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isNotImplemented())
+                .andExpect(content().json("{\"error\":\"The change feed is disabled\"}"));
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + "/top should return a 500 on an unexpected UnsupportedOperationException")
+    void getTopScores_shouldReturnA500_whenUnsupportedOperation() throws Exception {
+        when(scoreHandler.getTopScores(anyInt())).thenThrow(new UnsupportedOperationException());
+
+        mockMvc.perform(get(BASE_PATH + "/top"))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + "/{username}/rank should return the username rank")
+    void getRank() throws Exception {
+        ScoreRank scoreRank = new ScoreRank(USER_NAME, SCORE, TIMESTAMP, 1);
+        when(scoreHandler.getRank(USER_NAME)).thenReturn(scoreRank);
+
+        mockMvc.perform(get(BASE_PATH + "/" + USER_NAME + "/rank"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(convertToJson(scoreRank)));
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + "/{username}/rank should return a 404 when user not found")
+    void getRank_shouldReturnA404_whenUserNotFound() throws Exception {
+        when(scoreHandler.getRank(anyString())).thenThrow(new UserNotFoundException("Could not find username: " + USER_NAME));
+
+        mockMvc.perform(get(BASE_PATH + "/" + USER_NAME + "/rank"))
+            .andExpect(status().isNotFound())
+            .andExpect(content().json("{\"error\":\"Could not find username: " + USER_NAME + "\"}"));
+    }
+
     @Test
     @DisplayName("POST on " + BASE_PATH + "should create a new score")
     void createScore() throws Exception {
@@ -112,6 +353,17 @@ class ScoreControllerTest {
         verify(scoreHandler).createScore(USER_NAME, SCORE);
     }
 
+    @Test
+    @DisplayName("POST on " + BASE_PATH + " should create a score whose name needs unescaping")
+    void createScore_withEscapedName() throws Exception {
+        mockMvc.perform(post(BASE_PATH)
+                .contentType(APPLICATION_JSON)
+                .content("{\"score\": 123, \"name\": \"jo\\\"hn\"}"))
+                .andExpect(status().isAccepted());
+
+        verify(scoreHandler).createScore("jo\"hn", SCORE);
+    }
+
     @Test
     @DisplayName("POST on " + BASE_PATH + "should return a 400 when username is null")
     void createScore_shouldReturnA400_whenUsernameIsNull() throws Exception {
@@ -134,6 +386,43 @@ class ScoreControllerTest {
             .andExpect(content().json("{\"error\":\"Username " + USER_NAME + " already exists\"}"));
     }
 
+    @Test
+    @DisplayName("PATCH on " + BASE_PATH + "/{username} should modify the score and return it")
+    void patchScore() throws Exception {
+        ScorePatch patch = new ScorePatch(ScorePatch.Type.INCREMENT, 5, null);
+        when(scoreHandler.patchScore(USER_NAME, patch)).thenReturn(SCORE_USERNAME_TIMESTAMP);
+
+        mockMvc.perform(patch(BASE_PATH + "/" + USER_NAME)
+                .contentType(APPLICATION_JSON)
+                .content("{\"type\":\"INCREMENT\",\"value\":5}"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(convertToJson(SCORE_USERNAME_TIMESTAMP)));
+    }
+
+    @Test
+    @DisplayName("PATCH on " + BASE_PATH + "/{username} should return a 409 when the score does not have the expected value")
+    void patchScore_shouldReturnA409_whenTheScoreIsNotTheExpectedOne() throws Exception {
+        when(scoreHandler.patchScore(USER_NAME, new ScorePatch(ScorePatch.Type.COMPARE_AND_SET, 5, 1)))
+            .thenThrow(new ScoreConflictException("Score of " + USER_NAME + " is " + SCORE + ", not 1"));
+
+        mockMvc.perform(patch(BASE_PATH + "/" + USER_NAME)
+            .contentType(APPLICATION_JSON)
+            .content("{\"type\":\"COMPARE_AND_SET\",\"value\":5,\"expected\":1}"))
+            .andExpect(status().isConflict())
+            .andExpect(content().json("{\"error\":\"Score of " + USER_NAME + " is " + SCORE + ", not 1\"}"));
+    }
+
+    @Test
+    @DisplayName("PATCH on " + BASE_PATH + "/{username} should return a 400 when a compare-and-set has no expected score")
+    void patchScore_shouldReturnA400_whenExpectedIsMissing() throws Exception {
+        mockMvc.perform(patch(BASE_PATH + "/" + USER_NAME)
+            .contentType(APPLICATION_JSON)
+            .content("{\"type\":\"COMPARE_AND_SET\",\"value\":5}"))
+            .andExpect(status().isBadRequest());
+
+        verify(scoreHandler, never()).patchScore(anyString(), any());
+    }
+
     @Test
     @DisplayName("PUT on " + BASE_PATH + "/{username} should update the score")
     void updateScore() throws Exception {
@@ -145,6 +434,28 @@ class ScoreControllerTest {
         verify(scoreHandler).updateScore(USER_NAME, SCORE);
     }
 
+    @Test
+    @DisplayName("PUT on " + BASE_PATH + "/{username} should accept a score that is not a plain integer")
+    void updateScore_withFloatingPointScore() throws Exception {
+        mockMvc.perform(put(BASE_PATH + "/" + USER_NAME)
+                .contentType(APPLICATION_JSON)
+                .content(" 123.0\n"))
+                .andExpect(status().isAccepted());
+
+        verify(scoreHandler).updateScore(USER_NAME, SCORE);
+    }
+
+    @Test
+    @DisplayName("PUT on " + BASE_PATH + "/{username} should accept the binary format")
+    void updateScore_binary() throws Exception {
+        mockMvc.perform(put(BASE_PATH + "/" + USER_NAME)
+                .contentType(ScoreBinaryHttpMessageConverter.APPLICATION_SCORE_BINARY)
+                .content(ByteBuffer.allocate(8).putInt(4).putInt(SCORE).array()))
+                .andExpect(status().isAccepted());
+
+        verify(scoreHandler).updateScore(USER_NAME, SCORE);
+    }
+
     @Test
     @DisplayName("PUT on " + BASE_PATH + "/{username} should return a 400 when score is missing")
     void updateScore_shouldReturnA400_whenScoreIsMissing() throws Exception {
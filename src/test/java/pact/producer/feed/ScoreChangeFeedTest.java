@@ -0,0 +1,191 @@
+package pact.producer.feed;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import pact.producer.dto.ScoreChangeEvent;
+import pact.producer.dto.ScoreOperation.Type;
+import pact.producer.dto.ScoreUsernameTimestamp;
+
+class ScoreChangeFeedTest {
+
+    private static final Instant NOW = Instant.parse("2007-12-03T10:15:30.00Z");
+    private static final ScoreUsernameTimestamp JOHN = new ScoreUsernameTimestamp("John", 123, NOW);
+    private static final ScoreUsernameTimestamp JOHN_UPDATED = new ScoreUsernameTimestamp("John", 124, NOW);
+
+    private ScoreChangeFeed scoreChangeFeed;
+
+    @BeforeEach
+    void setUp() {
+        scoreChangeFeed = new ScoreChangeFeed();
+        ReflectionTestUtils.setField(scoreChangeFeed, "bufferSize", 4);
+        ReflectionTestUtils.setField(scoreChangeFeed, "subscriberQueueSize", 4);
+        scoreChangeFeed.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scoreChangeFeed.stop();
+    }
+
+    @Test
+    @DisplayName("read should return the changes following a sequence number")
+    void read() {
+        scoreChangeFeed.scoreCreated(JOHN);
+        scoreChangeFeed.scoreUpdated(JOHN, JOHN_UPDATED);
+        scoreChangeFeed.scoreDeleted(JOHN_UPDATED);
+
+        assertThat(scoreChangeFeed.read(1, 10), contains(
+            new ScoreChangeEvent(2, Type.UPDATE, "John", 124, NOW),
+            new ScoreChangeEvent(3, Type.DELETE, "John", null, null)));
+    }
+
+    @Test
+    @DisplayName("read should return null when the changes are no longer buffered")
+    void read_shouldReturnNull_whenOverrun() {
+        for (int i = 0; i < 5; i++) {
+            scoreChangeFeed.scoreUpdated(JOHN, JOHN_UPDATED);
+        }
+
+        assertNull(scoreChangeFeed.read(0, 10));
+        assertEquals(4, scoreChangeFeed.read(1, 10).size());
+        assertNull(scoreChangeFeed.read(6, 10));
+    }
+
+    @Test
+    @DisplayName("subscribe should deliver the changes in order")
+    void subscribe() throws InterruptedException {
+        List<Long> received = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(3);
+        scoreChangeFeed.subscribe(0, new ScoreChangeSubscriber() {
+            @Override
+            public void send(List<ScoreChangeEvent> events) {
+                events.forEach(event -> {
+                    received.add(event.getSequence());
+                    delivered.countDown();
+                });
+            }
+
+            @Override
+            public void overrun() {
+            }
+
+            @Override
+            public void failed(Exception cause) {
+            }
+        });
+
+        scoreChangeFeed.scoreCreated(JOHN);
+        scoreChangeFeed.scoreUpdated(JOHN, JOHN_UPDATED);
+        scoreChangeFeed.scoreDeleted(JOHN_UPDATED);
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        assertThat(received, contains(1L, 2L, 3L));
+    }
+
+    @Test
+    @DisplayName("subscribe should drop a subscriber that fell behind the buffer")
+    void subscribe_shouldOverrun_whenBehindTheBuffer() throws InterruptedException {
+        for (int i = 0; i < 5; i++) {
+            scoreChangeFeed.scoreUpdated(JOHN, JOHN_UPDATED);
+        }
+        CountDownLatch overrun = new CountDownLatch(1);
+        List<ScoreChangeEvent> received = new CopyOnWriteArrayList<>();
+        scoreChangeFeed.subscribe(0, new ScoreChangeSubscriber() {
+            @Override
+            public void send(List<ScoreChangeEvent> events) {
+                received.addAll(events);
+            }
+
+            @Override
+            public void overrun() {
+                overrun.countDown();
+            }
+
+            @Override
+            public void failed(Exception cause) {
+            }
+        });
+
+        assertTrue(overrun.await(5, TimeUnit.SECONDS));
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    @DisplayName("subscribe should drop a subscriber whose queue overflows, without holding back the others")
+    void subscribe_shouldOverrun_whenTheQueueOverflows() throws InterruptedException {
+        CountDownLatch stuck = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch overrun = new CountDownLatch(1);
+        ReflectionTestUtils.setField(scoreChangeFeed, "subscriberQueueSize", 1);
+        scoreChangeFeed.subscribe(0, new ScoreChangeSubscriber() {
+            @Override
+            public void send(List<ScoreChangeEvent> events) throws IOException {
+                stuck.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new InterruptedIOException();
+                }
+            }
+
+            @Override
+            public void overrun() {
+                overrun.countDown();
+            }
+
+            @Override
+            public void failed(Exception cause) {
+            }
+        });
+        CountDownLatch delivered = new CountDownLatch(4);
+        CountDownLatch deliveredLater = new CountDownLatch(5);
+        ReflectionTestUtils.setField(scoreChangeFeed, "subscriberQueueSize", 4);
+        scoreChangeFeed.subscribe(0, new ScoreChangeSubscriber() {
+            @Override
+            public void send(List<ScoreChangeEvent> events) {
+                events.forEach(event -> {
+                    delivered.countDown();
+                    deliveredLater.countDown();
+                });
+            }
+
+            @Override
+            public void overrun() {
+            }
+
+            @Override
+            public void failed(Exception cause) {
+            }
+        });
+
+        scoreChangeFeed.scoreCreated(JOHN);
+        assertTrue(stuck.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            scoreChangeFeed.scoreUpdated(JOHN, JOHN_UPDATED);
+        }
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        // dispatched on a later round, which also finds the stuck subscriber's queue full
+        scoreChangeFeed.scoreDeleted(JOHN_UPDATED);
+        assertTrue(deliveredLater.await(5, TimeUnit.SECONDS));
+        assertEquals(1, overrun.getCount());
+        release.countDown();
+        assertTrue(overrun.await(5, TimeUnit.SECONDS));
+    }
+}
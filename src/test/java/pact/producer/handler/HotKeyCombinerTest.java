@@ -0,0 +1,134 @@
+package pact.producer.handler;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import pact.producer.dto.HotKey;
+
+class HotKeyCombinerTest {
+
+  private static final Instant NOW = Instant.parse("2007-12-03T10:15:30.00Z");
+
+  private HotKeyCombiner hotKeyCombiner;
+
+  @BeforeEach
+  void setUp() {
+    hotKeyCombiner = new HotKeyCombiner();
+    ReflectionTestUtils.setField(hotKeyCombiner, "enabled", true);
+    ReflectionTestUtils.setField(hotKeyCombiner, "sampleRate", 1);
+    ReflectionTestUtils.setField(hotKeyCombiner, "threshold", 100L);
+  }
+
+  @Test
+  @DisplayName("names written more often than the threshold should be reported as hot")
+  void getHotKeys() {
+    for (int i = 0; i < 150; i++) {
+      hotKeyCombiner.update("John", i, NOW, (name, score, timestamp) -> true);
+    }
+    hotKeyCombiner.update("Pete", 1, NOW, (name, score, timestamp) -> true);
+    hotKeyCombiner.detect();
+    assertThat(hotKeyCombiner.getHotKeys(), contains(new HotKey("John", 150)));
+
+    hotKeyCombiner.detect();
+    assertThat(hotKeyCombiner.getHotKeys(), empty());
+  }
+
+  @Test
+  @DisplayName("concurrent updates of a hot name should all return once the last one is written")
+  void update_shouldCombineConcurrentUpdates() throws Exception {
+    makeHot("John");
+    AtomicInteger writes = new AtomicInteger();
+    AtomicReference<Integer> written = new AtomicReference<>();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Boolean>> futures = new ArrayList<>();
+      for (int thread = 0; thread < 4; thread++) {
+        futures.add(executor.submit(() -> {
+          boolean found = true;
+          for (int i = 0; i < 1000; i++) {
+            found &= hotKeyCombiner.update("John", i, NOW, (name, score, timestamp) -> {
+              writes.incrementAndGet();
+              written.set(score);
+              return true;
+            });
+          }
+          return found;
+        }));
+      }
+      for (Future<Boolean> future : futures) {
+        assertTrue(future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertTrue(writes.get() <= 4000);
+    assertEquals(999, written.get().intValue());
+  }
+
+  @Test
+  @DisplayName("update should return whether the hot name was found")
+  void update_shouldReturnWhetherTheNameWasFound() {
+    makeHot("John");
+    assertFalse(hotKeyCombiner.update("John", 1, NOW, (name, score, timestamp) -> false));
+  }
+
+  @Test
+  @DisplayName("update should rethrow the exception of the write")
+  void update_shouldRethrowTheException() {
+    makeHot("John");
+    IllegalStateException ex = assertThrows(IllegalStateException.class,
+        () -> hotKeyCombiner.update("John", 1, NOW, (name, score, timestamp) -> {
+          throw new IllegalStateException("rejected");
+        }));
+    assertEquals("rejected", ex.getMessage());
+  }
+
+  @Test
+  @DisplayName("start should reject a sample rate below 1")
+  void start_shouldRejectAnInvalidSampleRate() {
+    ReflectionTestUtils.setField(hotKeyCombiner, "sampleRate", 0);
+    IllegalStateException ex = assertThrows(IllegalStateException.class, hotKeyCombiner::start);
+    assertEquals("scores.hot-keys.sample-rate must be at least 1, was 0", ex.getMessage());
+  }
+
+  @Test
+  @DisplayName("update should write straight through when combining is disabled")
+  void update_shouldWriteThrough_whenDisabled() {
+    HotKeyCombiner disabled = new HotKeyCombiner();
+    ReflectionTestUtils.setField(disabled, "sampleRate", 0);
+    disabled.start();
+    AtomicInteger writes = new AtomicInteger();
+    for (int i = 0; i < 150; i++) {
+      disabled.update("John", i, NOW, (name, score, timestamp) -> writes.incrementAndGet() > 0);
+    }
+    disabled.detect();
+
+    assertEquals(150, writes.get());
+    assertThat(disabled.getHotKeys(), empty());
+  }
+
+  private void makeHot(String name) {
+    for (int i = 0; i < 100; i++) {
+      hotKeyCombiner.update(name, i, NOW, (n, score, timestamp) -> true);
+    }
+    hotKeyCombiner.detect();
+  }
+}
@@ -0,0 +1,80 @@
+package pact.producer.handler;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pact.producer.dto.ScoreUsernameTimestamp;
+
+class PackedScoreStoreTest {
+
+  private static final Instant NOW = Instant.parse("2007-12-03T10:15:30.123456789Z");
+  private static final ScoreUsernameTimestamp JOHN = new ScoreUsernameTimestamp("John", 123, NOW);
+
+  private PackedScoreStore scoreStore;
+
+  @BeforeEach
+  void setUp() {
+    scoreStore = new PackedScoreStore(16);
+    scoreStore.computeIfAbsent(JOHN.getName(), s -> JOHN);
+  }
+
+  @Test
+  @DisplayName("get should return the stored score")
+  void get() {
+    assertEquals(JOHN, scoreStore.get("John"));
+    assertNull(scoreStore.get("Pete"));
+  }
+
+  @Test
+  @DisplayName("computeIfAbsent should keep the existing score")
+  void computeIfAbsent_shouldKeepTheExistingScore() {
+    ScoreUsernameTimestamp pete = new ScoreUsernameTimestamp("Pete", 1, null);
+    assertSame(pete, scoreStore.computeIfAbsent("Pete", s -> pete));
+    assertEquals(JOHN, scoreStore.computeIfAbsent("John", s -> new ScoreUsernameTimestamp("John", 1, null)));
+    assertEquals(pete, scoreStore.get("Pete"));
+  }
+
+  @Test
+  @DisplayName("computeIfPresent should update and remove scores")
+  void computeIfPresent() {
+    scoreStore.computeIfPresent("John", (s, previous) -> new ScoreUsernameTimestamp(s, previous.getScore() + 1, NOW));
+    assertEquals(new ScoreUsernameTimestamp("John", 124, NOW), scoreStore.get("John"));
+
+    scoreStore.computeIfPresent("John", (s, previous) -> null);
+    assertNull(scoreStore.get("John"));
+    assertEquals(0, scoreStore.size());
+  }
+
+  @Test
+  @DisplayName("timestamps outside the epoch nanosecond range should round-trip")
+  void compute_shouldKeepExtremeTimestamps() {
+    scoreStore.compute("Max", (s, previous) -> new ScoreUsernameTimestamp(s, 1, Instant.MAX));
+    scoreStore.compute("Min", (s, previous) -> new ScoreUsernameTimestamp(s, 2, Instant.MIN));
+
+    assertEquals(new ScoreUsernameTimestamp("Max", 1, Instant.MAX), scoreStore.get("Max"));
+    assertEquals(new ScoreUsernameTimestamp("Min", 2, Instant.MIN), scoreStore.get("Min"));
+  }
+
+  @Test
+  @DisplayName("values should survive growth and name compaction")
+  void values_shouldSurviveGrowthAndCompaction() {
+    for (int i = 0; i < 5000; i++) {
+      scoreStore.computeIfAbsent("user-" + i, s -> new ScoreUsernameTimestamp(s, 1, NOW));
+    }
+    for (int i = 0; i < 5000; i++) {
+      scoreStore.computeIfPresent("user-" + i, (s, previous) -> null);
+    }
+    scoreStore.computeIfAbsent("Pete", s -> new ScoreUsernameTimestamp(s, 2, null));
+
+    assertThat(scoreStore.values(), containsInAnyOrder(JOHN, new ScoreUsernameTimestamp("Pete", 2, null)));
+    assertEquals(2, scoreStore.size());
+  }
+
+}
@@ -0,0 +1,114 @@
+package pact.producer.handler;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import pact.producer.dto.ScoreUsernameTimestamp;
+import pact.producer.exception.DuplicatedScoreException;
+import pact.producer.metrics.ScoreMetrics;
+import pact.producer.service.TimeProvider;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {
+    "scores.expiry.ttl-ms=60000",
+    "scores.eviction.max-entries=3",
+    "scores.eviction.sweep-interval-ms=3600000"
+})
+@DirtiesContext(classMode = ClassMode.AFTER_EACH_TEST_METHOD)
+class ScoreEvictorTest {
+
+  private static final Instant NOW = Instant.parse("2007-12-03T10:15:30.00Z");
+
+  @Autowired
+  private ScoreEvictor scoreEvictor;
+
+  @Autowired
+  private ScoreHandler scoreHandler;
+
+  @Autowired
+  private ScoreMetrics scoreMetrics;
+
+  @MockBean
+  private TimeProvider timeProvider;
+
+  @BeforeEach
+  void setUp() {
+    when(timeProvider.now()).thenReturn(NOW);
+  }
+
+  @Test
+  @DisplayName("scores not written within the ttl should expire")
+  void sweep_shouldExpireStaleScores() throws Exception {
+    createAt("stale", 1, NOW.minusSeconds(120));
+    createAt("fresh", 2, NOW.minusSeconds(30));
+
+    scoreEvictor.sweep();
+
+    assertThat(names(), containsInAnyOrder("fresh"));
+    assertEquals(1, scoreMetrics.summarize().getExpirations());
+  }
+
+  @Test
+  @DisplayName("the least recently written scores should be evicted down to max-entries")
+  void sweep_shouldEvictLeastRecentlyWritten() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      createAt("user-" + i, 10 - i, NOW.minusSeconds(10 - i));
+    }
+
+    scoreEvictor.sweep();
+
+    assertThat(names(), containsInAnyOrder("user-2", "user-3", "user-4"));
+    assertEquals(2, scoreMetrics.summarize().getEvictions());
+  }
+
+  @Test
+  @DisplayName("the lowest scores should be evicted down to max-entries with the lowest-score policy")
+  void sweep_shouldEvictLowestScores() throws Exception {
+    ReflectionTestUtils.setField(scoreEvictor, "policy", ScoreEvictor.Policy.LOWEST_SCORE);
+    for (int i = 0; i < 5; i++) {
+      createAt("user-" + i, 10 - i, NOW.minusSeconds(10 - i));
+    }
+
+    scoreEvictor.sweep();
+
+    assertThat(names(), containsInAnyOrder("user-0", "user-1", "user-2"));
+  }
+
+  @Test
+  @DisplayName("a score written again since it was picked should not be evicted")
+  void evict_shouldKeepRewrittenScore() throws Exception {
+    createAt("user", 1, NOW);
+    ScoreUsernameTimestamp picked = scoreHandler.getScore("user");
+    scoreHandler.updateScore("user", 2);
+
+    assertFalse(scoreHandler.evict(picked));
+    assertEquals(2, scoreHandler.getScore("user").getScore());
+  }
+
+  private void createAt(String name, int score, Instant timestamp) throws DuplicatedScoreException {
+    when(timeProvider.now()).thenReturn(timestamp);
+    scoreHandler.createScore(name, score);
+    when(timeProvider.now()).thenReturn(NOW);
+  }
+
+  private List<String> names() {
+    return scoreHandler.getAllScores().stream().map(ScoreUsernameTimestamp::getName).collect(Collectors.toList());
+  }
+}
@@ -1,13 +1,19 @@
 package pact.producer.handler;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,8 +24,16 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.annotation.DirtiesContext.ClassMode;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import pact.producer.dto.ScoreOperation;
+import pact.producer.dto.ScoreOperation.Type;
+import pact.producer.dto.ScoreOperationResult;
+import pact.producer.dto.ScoreHistogramBucket;
+import pact.producer.dto.ScoreRank;
+import pact.producer.dto.ScoreStats;
 import pact.producer.dto.ScoreUsernameTimestamp;
 import pact.producer.exception.DuplicatedScoreException;
+import pact.producer.exception.ScoreConflictException;
 import pact.producer.exception.UserNotFoundException;
 import pact.producer.service.TimeProvider;
 
@@ -92,6 +106,78 @@ class ScoreHandlerTest {
     assertEquals("Could not find username: not-existent-user", ex.getMessage());
   }
 
+  @Test
+  @DisplayName("incrementScore should add to the score")
+  void incrementScore() throws Exception {
+    when(timeProvider.now()).thenReturn(NOW.plusSeconds(1));
+    assertEquals(new ScoreUsernameTimestamp(USER, SCORE + 7, NOW.plusSeconds(1)), scoreHandler.incrementScore(USER, 7));
+    assertEquals(new ScoreUsernameTimestamp(USER, SCORE + 2, NOW.plusSeconds(1)), scoreHandler.incrementScore(USER, -5));
+    assertEquals(new ScoreUsernameTimestamp(USER, SCORE + 2, NOW.plusSeconds(1)), scoreHandler.getScore(USER));
+  }
+
+  @Test
+  @DisplayName("incrementScore should return an exception instead of overflowing")
+  void incrementScore_shouldReturnAnException_whenTheScoreWouldOverflow() throws UserNotFoundException {
+    ScoreConflictException ex = assertThrows(ScoreConflictException.class, () -> scoreHandler.incrementScore(USER, Integer.MAX_VALUE));
+    assertEquals("Incrementing the score of John by 2147483647 would overflow", ex.getMessage());
+    assertEquals(new ScoreUsernameTimestamp(USER, SCORE, NOW), scoreHandler.getScore(USER));
+  }
+
+  @Test
+  @DisplayName("incrementScore should return an exception when the user is not found")
+  void incrementScore_shouldReturnAnException_whenUserIsNotFound() {
+    UserNotFoundException ex = assertThrows(UserNotFoundException.class, () -> scoreHandler.incrementScore("not-existent-user", 1));
+    assertEquals("Could not find username: not-existent-user", ex.getMessage());
+  }
+
+  @Test
+  @DisplayName("maxScore should only raise the score")
+  void maxScore() throws Exception {
+    when(timeProvider.now()).thenReturn(NOW.plusSeconds(1));
+    assertEquals(new ScoreUsernameTimestamp(USER, SCORE, NOW), scoreHandler.maxScore(USER, SCORE - 1));
+    assertEquals(new ScoreUsernameTimestamp(USER, SCORE + 1, NOW.plusSeconds(1)), scoreHandler.maxScore(USER, SCORE + 1));
+  }
+
+  @Test
+  @DisplayName("compareAndSetScore should only set the score when it has the expected value")
+  void compareAndSetScore() throws Exception {
+    ScoreConflictException ex = assertThrows(ScoreConflictException.class, () -> scoreHandler.compareAndSetScore(USER, SCORE + 1, 5));
+    assertEquals("Score of John is 123, not 124", ex.getMessage());
+    assertEquals(new ScoreUsernameTimestamp(USER, 5, NOW), scoreHandler.compareAndSetScore(USER, SCORE, 5));
+  }
+
+  @Test
+  @DisplayName("every write should move the store version forward")
+  void getVersion_shouldIncrease_onEveryWrite() throws Exception {
+    long created = scoreHandler.getScore(USER).getVersion();
+    assertEquals(created, scoreHandler.getVersion());
+
+    scoreHandler.updateScore(USER, 124);
+    long updated = scoreHandler.getScore(USER).getVersion();
+    assertTrue(updated > created);
+    assertEquals(updated, scoreHandler.getVersion());
+
+    scoreHandler.deleteScore(USER);
+    assertTrue(scoreHandler.getVersion() > updated);
+  }
+
+  @Test
+  @DisplayName("the settled version should only be set when no write is in progress")
+  void getSettledVersion_shouldBeUnset_whileAWriteIsInProgress() throws Exception {
+    long[] seen = new long[1];
+    ReflectionTestUtils.setField(scoreHandler, "listeners", Collections.singletonList(new ScoreChangeListener() {
+      @Override
+      public void scoreUpdated(ScoreUsernameTimestamp previous, ScoreUsernameTimestamp updated) {
+        seen[0] = scoreHandler.getSettledVersion();
+      }
+    }));
+
+    scoreHandler.updateScore(USER, 124);
+
+    assertEquals(-1, seen[0]);
+    assertEquals(scoreHandler.getVersion(), scoreHandler.getSettledVersion());
+  }
+
   @Test
   @DisplayName("deleteScore should delete a score")
   void deleteScore() throws UserNotFoundException {
@@ -106,4 +192,132 @@ class ScoreHandlerTest {
     assertEquals("Could not find username: not-existent-user", ex.getMessage());
   }
 
-}
\ No newline at end of file
+  @Test
+  @DisplayName("getTopScores should return the highest scores first")
+  void getTopScores() throws DuplicatedScoreException {
+    scoreHandler.createScore("Pete", 200);
+    scoreHandler.createScore("Mary", 50);
+    assertThat(scoreHandler.getTopScores(2), contains(
+        new ScoreUsernameTimestamp("Pete", 200, NOW),
+        new ScoreUsernameTimestamp(USER, SCORE, NOW)));
+  }
+
+  @Test
+  @DisplayName("getTopScores should follow score updates and deletions")
+  void getTopScores_shouldFollowUpdatesAndDeletions() throws DuplicatedScoreException, UserNotFoundException {
+    scoreHandler.createScore("Pete", 200);
+    scoreHandler.createScore("Mary", 50);
+    scoreHandler.updateScore("Mary", 300);
+    scoreHandler.deleteScore("Pete");
+    assertThat(scoreHandler.getTopScores(10), contains(
+        new ScoreUsernameTimestamp("Mary", 300, NOW),
+        new ScoreUsernameTimestamp(USER, SCORE, NOW)));
+  }
+
+  @Test
+  @DisplayName("getTopScores should return at most a page of scores")
+  void getTopScores_shouldBeCappedAtThePageSize() throws DuplicatedScoreException {
+    for (int i = 0; i < ScoreHandler.MAX_PAGE_SIZE; i++) {
+      scoreHandler.createScore("user-" + i, i);
+    }
+    assertEquals(ScoreHandler.MAX_PAGE_SIZE, scoreHandler.getTopScores(Integer.MAX_VALUE).size());
+  }
+
+  @Test
+  @DisplayName("getRank should return the position of the user in the ranking")
+  void getRank() throws DuplicatedScoreException, UserNotFoundException {
+    scoreHandler.createScore("Pete", 200);
+    scoreHandler.createScore("Mary", 50);
+    assertEquals(new ScoreRank(USER, SCORE, NOW, 2), scoreHandler.getRank(USER));
+  }
+
+  @Test
+  @DisplayName("getRank should return an exception when the user is not found")
+  void getRank_shouldReturnAnException_whenUserIsNotFound() {
+    UserNotFoundException ex = assertThrows(UserNotFoundException.class, () -> scoreHandler.getRank("not-existent-user"));
+    assertEquals("Could not find username: not-existent-user", ex.getMessage());
+  }
+
+  @Test
+  @DisplayName("getScoresWithPrefix should return the scores whose names start with the prefix")
+  void getScoresWithPrefix() throws DuplicatedScoreException, UserNotFoundException {
+    scoreHandler.createScore("Jo", 1);
+    scoreHandler.createScore("Johanna", 2);
+    scoreHandler.createScore("Jon", 3);
+    scoreHandler.createScore("Pete", 4);
+    scoreHandler.deleteScore("Jon");
+    assertThat(scoreHandler.getScoresWithPrefix("Joh", 10), contains(
+        new ScoreUsernameTimestamp("Johanna", 2, NOW),
+        new ScoreUsernameTimestamp(USER, SCORE, NOW)));
+    assertThat(scoreHandler.getScoresWithPrefix("Jo", 2), contains(
+        new ScoreUsernameTimestamp("Jo", 1, NOW),
+        new ScoreUsernameTimestamp("Johanna", 2, NOW)));
+    assertThat(scoreHandler.getScoresWithPrefix("Mary", 10), empty());
+  }
+
+  @Test
+  @DisplayName("getScoresUpdatedSince should return the scores updated since the given time, oldest first")
+  void getScoresUpdatedSince() throws DuplicatedScoreException, UserNotFoundException {
+    when(timeProvider.now()).thenReturn(NOW.plusSeconds(10));
+    scoreHandler.createScore("Pete", 200);
+    when(timeProvider.now()).thenReturn(NOW.plusSeconds(20));
+    scoreHandler.createScore("Mary", 50);
+    when(timeProvider.now()).thenReturn(NOW.plusSeconds(30));
+    scoreHandler.updateScore("Pete", 300);
+    assertThat(scoreHandler.getScoresUpdatedSince(NOW.plusSeconds(10), 10), contains(
+        new ScoreUsernameTimestamp("Mary", 50, NOW.plusSeconds(20)),
+        new ScoreUsernameTimestamp("Pete", 300, NOW.plusSeconds(30))));
+    assertThat(scoreHandler.getScoresUpdatedSince(NOW, 1), contains(new ScoreUsernameTimestamp(USER, SCORE, NOW)));
+  }
+
+  @Test
+  @DisplayName("getStats should follow score creations, updates and deletions")
+  void getStats() throws DuplicatedScoreException, UserNotFoundException {
+    scoreHandler.createScore("Pete", 200);
+    scoreHandler.createScore("Mary", 50);
+    scoreHandler.createScore("Anna", -3);
+    scoreHandler.updateScore("Mary", 60);
+    scoreHandler.deleteScore("Anna");
+    assertEquals(new ScoreStats(3, 383, 383 / 3.0, 60, 200, SCORE, 200, 200, Arrays.asList(
+        new ScoreHistogramBucket(32, 63, 1),
+        new ScoreHistogramBucket(64, 127, 1),
+        new ScoreHistogramBucket(128, 255, 1))), scoreHandler.getStats());
+  }
+
+  @Test
+  @DisplayName("getStats should only return the count and sum when there are no scores")
+  void getStats_whenThereAreNoScores() throws UserNotFoundException {
+    scoreHandler.deleteScore(USER);
+    assertEquals(new ScoreStats(0, 0, null, null, null, null, null, null, Collections.emptyList()), scoreHandler.getStats());
+  }
+
+  @Test
+  @DisplayName("getScoresAfter should return a page of scores ordered by name")
+  void getScoresAfter() throws DuplicatedScoreException {
+    scoreHandler.createScore("Pete", 200);
+    scoreHandler.createScore("Mary", 50);
+    assertThat(scoreHandler.getScoresAfter(null, 2), contains(
+        new ScoreUsernameTimestamp(USER, SCORE, NOW),
+        new ScoreUsernameTimestamp("Mary", 50, NOW)));
+    assertThat(scoreHandler.getScoresAfter("Mary", 2), contains(new ScoreUsernameTimestamp("Pete", 200, NOW)));
+  }
+
+  @Test
+  @DisplayName("applyBatch should apply every operation and report a result for each one")
+  void applyBatch() throws UserNotFoundException {
+    assertThat(scoreHandler.applyBatch(Arrays.asList(
+        new ScoreOperation(Type.CREATE, "Pete", 200),
+        new ScoreOperation(Type.CREATE, USER, 1),
+        new ScoreOperation(Type.UPDATE, "Pete", 201),
+        new ScoreOperation(Type.DELETE, "Mary", null),
+        new ScoreOperation(Type.UPDATE, USER, null))), contains(
+        new ScoreOperationResult("Pete", 202, null),
+        new ScoreOperationResult(USER, 400, "Username John already exists"),
+        new ScoreOperationResult("Pete", 202, null),
+        new ScoreOperationResult("Mary", 404, "Could not find username: Mary"),
+        new ScoreOperationResult(USER, 400, "Score is required for UPDATE")));
+    assertEquals(new ScoreUsernameTimestamp("Pete", 201, NOW), scoreHandler.getScore("Pete"));
+    verify(timeProvider, times(2)).now();
+  }
+
+}
@@ -0,0 +1,75 @@
+package pact.producer.handler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pact.producer.dto.ScoreUsernameTimestamp;
+
+class ScoreRankingTest {
+
+  private static final Instant NOW = Instant.parse("2007-12-03T10:15:30.00Z");
+
+  private final ScoreRanking ranking = new ScoreRanking();
+
+  @Test
+  @DisplayName("entries should be ranked by score, then timestamp, then name")
+  void rankOf() {
+    ScoreUsernameTimestamp first = new ScoreUsernameTimestamp("b", 10, NOW);
+    ScoreUsernameTimestamp second = new ScoreUsernameTimestamp("c", 5, NOW);
+    ScoreUsernameTimestamp third = new ScoreUsernameTimestamp("a", 5, NOW.plusSeconds(1));
+    ranking.add(third);
+    ranking.add(first);
+    ranking.add(second);
+
+    assertEquals(1, ranking.rankOf(first));
+    assertEquals(2, ranking.rankOf(second));
+    assertEquals(3, ranking.rankOf(third));
+    assertEquals(0, ranking.rankOf(new ScoreUsernameTimestamp("d", 1, NOW)));
+    assertEquals(third, ranking.last());
+    assertEquals(2, ranking.fromRank(2, 5).size());
+  }
+
+  @Test
+  @DisplayName("scoresAt should return the nearest rank score of each quantile")
+  void scoresAt() {
+    assertNull(ranking.scoresAt(0.5));
+    for (int score = 1; score <= 100; score++) {
+      ranking.add(new ScoreUsernameTimestamp("user-" + score, score, NOW));
+    }
+
+    assertArrayEquals(new int[] {1, 50, 90, 99, 100}, ranking.scoresAt(0, 0.5, 0.9, 0.99, 1));
+    assertArrayEquals(new int[] {100, 1}, ranking.scoresAt(1, 0));
+  }
+
+  @Test
+  @DisplayName("concurrent writers should all be indexed")
+  void add_shouldIndexConcurrentWriters() throws InterruptedException {
+    List<Thread> writers = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      int offset = t * 1000;
+      writers.add(new Thread(() -> {
+        for (int i = 0; i < 1000; i++) {
+          ScoreUsernameTimestamp score = new ScoreUsernameTimestamp("user-" + (offset + i), i, NOW);
+          ranking.add(score);
+          ranking.replace(score, new ScoreUsernameTimestamp(score.getName(), offset + i, NOW));
+        }
+      }));
+    }
+    writers.forEach(Thread::start);
+    for (Thread writer : writers) {
+      writer.join();
+    }
+
+    assertEquals(4000, ranking.size());
+    assertEquals(3999, ranking.fromRank(1, 1).get(0).getScore());
+    assertEquals(4000, ranking.rankOf(ranking.last()));
+    assertEquals(4000, ranking.fromRank(1, 5000).stream().map(ScoreUsernameTimestamp::getName).collect(Collectors.toSet()).size());
+  }
+}
@@ -0,0 +1,119 @@
+package pact.producer.handler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pact.producer.dto.ScoreUsernameTimestamp;
+
+class SingleWriterScoreStoreTest {
+
+  private static final Instant NOW = Instant.parse("2007-12-03T10:15:30.00Z");
+  private static final ScoreUsernameTimestamp JOHN = new ScoreUsernameTimestamp("John", 123, NOW);
+
+  private SingleWriterScoreStore scoreStore;
+
+  @BeforeEach
+  void setUp() {
+    scoreStore = new SingleWriterScoreStore(16, 8);
+    scoreStore.computeIfAbsent(JOHN.getName(), s -> JOHN);
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    scoreStore.close();
+  }
+
+  @Test
+  @DisplayName("computeIfPresent should update and remove scores")
+  void computeIfPresent() {
+    scoreStore.computeIfPresent("John", (s, previous) -> new ScoreUsernameTimestamp(s, previous.getScore() + 1, NOW));
+    assertEquals(new ScoreUsernameTimestamp("John", 124, NOW), scoreStore.get("John"));
+
+    assertNull(scoreStore.computeIfPresent("John", (s, previous) -> null));
+    assertNull(scoreStore.get("John"));
+    assertEquals(0, scoreStore.size());
+  }
+
+  @Test
+  @DisplayName("compute should rethrow the exception of the compute function")
+  void compute_shouldRethrowTheException() {
+    IllegalStateException ex = assertThrows(IllegalStateException.class,
+        () -> scoreStore.compute("John", (s, previous) -> {
+          throw new IllegalStateException("rejected");
+        }));
+    assertEquals("rejected", ex.getMessage());
+    assertEquals(JOHN, scoreStore.get("John"));
+  }
+
+  @Test
+  @DisplayName("concurrent mutations of the same name should all be applied")
+  void compute_shouldApplyConcurrentMutations() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int thread = 0; thread < 4; thread++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 1000; i++) {
+            scoreStore.computeIfPresent("John", (s, previous) -> new ScoreUsernameTimestamp(s, previous.getScore() + 1, NOW));
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(123 + 4000, scoreStore.get("John").getScore());
+  }
+
+  @Test
+  @DisplayName("close should settle every mutation enqueued while it shuts down")
+  void close_shouldSettleEveryPendingMutation() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<CompletableFuture<ScoreUsernameTimestamp>> mutations = new CopyOnWriteArrayList<>();
+    try {
+      CountDownLatch started = new CountDownLatch(4);
+      for (int thread = 0; thread < 4; thread++) {
+        executor.submit(() -> {
+          started.countDown();
+          while (true) {
+            mutations.add(scoreStore.computeAsync("John", (s, previous) -> new ScoreUsernameTimestamp(s, previous.getScore() + 1, NOW)));
+          }
+        });
+      }
+      started.await();
+      scoreStore.close();
+    } finally {
+      executor.shutdown();
+      assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    for (CompletableFuture<ScoreUsernameTimestamp> mutation : mutations) {
+      try {
+        mutation.get(5, TimeUnit.SECONDS);
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause() instanceof IllegalStateException);
+      }
+    }
+    assertThrows(IllegalStateException.class, () -> scoreStore.compute("John", (s, previous) -> previous));
+  }
+}
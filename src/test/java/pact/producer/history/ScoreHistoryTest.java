@@ -0,0 +1,71 @@
+package pact.producer.history;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import pact.producer.dto.ScoreUsernameTimestamp;
+import pact.producer.exception.UserNotFoundException;
+
+class ScoreHistoryTest {
+
+    private static final Instant NOW = Instant.parse("2007-12-03T10:15:30.123456789Z");
+
+    private ScoreHistory scoreHistory;
+
+    @BeforeEach
+    void setUp() {
+        scoreHistory = new ScoreHistory();
+        ReflectionTestUtils.setField(scoreHistory, "retentionMs", 60_000L);
+        ReflectionTestUtils.setField(scoreHistory, "maxEntries", 8);
+        scoreHistory.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scoreHistory.stop();
+    }
+
+    @Test
+    @DisplayName("getHistory should return the scores written within the range")
+    void getHistory() throws UserNotFoundException {
+        ScoreUsernameTimestamp created = new ScoreUsernameTimestamp("John", 1, NOW);
+        ScoreUsernameTimestamp updated = new ScoreUsernameTimestamp("John", 2, NOW.plusMillis(1500));
+        ScoreUsernameTimestamp updatedAgain = new ScoreUsernameTimestamp("John", 3, NOW.plusSeconds(10));
+        scoreHistory.scoreCreated(created);
+        scoreHistory.scoreUpdated(created, updated);
+        scoreHistory.scoreUpdated(updated, updatedAgain);
+
+        assertThat(scoreHistory.getHistory("John", null, null), contains(created, updated, updatedAgain));
+        assertThat(scoreHistory.getHistory("John", NOW.plusSeconds(1), NOW.plusSeconds(10)), contains(updated, updatedAgain));
+    }
+
+    @Test
+    @DisplayName("getHistory should return an exception when there is no history")
+    void getHistory_shouldReturnAnException_whenThereIsNoHistory() {
+        UserNotFoundException ex = assertThrows(UserNotFoundException.class, () -> scoreHistory.getHistory("Pete", null, null));
+        assertEquals("Could not find history for username: Pete", ex.getMessage());
+    }
+
+    @Test
+    @DisplayName("the history should be trimmed to the retention period and entry limit")
+    void append_shouldTrimTheHistory() throws UserNotFoundException {
+        for (int i = 0; i < 20; i++) {
+            scoreHistory.scoreCreated(new ScoreUsernameTimestamp("John", i, NOW.plusSeconds(i)));
+        }
+        List<ScoreUsernameTimestamp> history = scoreHistory.getHistory("John", null, null);
+        assertEquals(19, history.get(history.size() - 1).getScore());
+        assertEquals(true, history.size() >= 8 && history.size() <= 10);
+
+        scoreHistory.scoreCreated(new ScoreUsernameTimestamp("John", 100, NOW.plusSeconds(200)));
+        assertThat(scoreHistory.getHistory("John", null, null), contains(new ScoreUsernameTimestamp("John", 100, NOW.plusSeconds(200))));
+    }
+}
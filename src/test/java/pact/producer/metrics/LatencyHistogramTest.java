@@ -0,0 +1,67 @@
+package pact.producer.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+  @Test
+  @DisplayName("getValueAtPercentile should be within the bucket precision")
+  void getValueAtPercentile() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long value = 1; value <= 100_000; value++) {
+      histogram.record(value * 1000);
+    }
+    assertEquals(100_000, histogram.getCount());
+    assertEquals(100_000_000, histogram.getMax());
+    assertThat(histogram.getValueAtPercentile(50), allOf(greaterThanOrEqualTo(50_000_000L), lessThanOrEqualTo(51_600_000L)));
+    assertThat(histogram.getValueAtPercentile(99.9), allOf(greaterThanOrEqualTo(99_900_000L), lessThanOrEqualTo(100_000_000L)));
+  }
+
+  @Test
+  @DisplayName("values recorded by concurrent threads should all be merged")
+  void record_shouldMergeConcurrentRecorders() throws InterruptedException {
+    LatencyHistogram histogram = new LatencyHistogram();
+    Thread[] threads = new Thread[8];
+    for (int t = 0; t < threads.length; t++) {
+      long offset = t * 10_000L;
+      threads[t] = new Thread(() -> {
+        for (long value = 1; value <= 10_000; value++) {
+          histogram.record(offset + value);
+        }
+      });
+      threads[t].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertEquals(80_000, histogram.getCount());
+    assertEquals(80_000, histogram.getMax());
+    assertThat(histogram.getValueAtPercentile(50), allOf(greaterThanOrEqualTo(40_000L), lessThanOrEqualTo(41_300L)));
+  }
+
+  @Test
+  @DisplayName("getValueAtPercentile should return 0 when nothing was recorded")
+  void getValueAtPercentile_shouldReturn0_whenEmpty() {
+    assertEquals(0, new LatencyHistogram().getValueAtPercentile(99));
+  }
+
+  @Test
+  @DisplayName("bucket bounds should contain the recorded value")
+  void bucketBounds() {
+    for (long value : new long[] {0, 1, 31, 32, 33, 1000, 123_456_789, Long.MAX_VALUE / 2}) {
+      int index = LatencyHistogram.indexOf(value);
+      assertThat(LatencyHistogram.highestValueOf(index), greaterThanOrEqualTo(value));
+      if (index > 0) {
+        assertThat(LatencyHistogram.highestValueOf(index - 1), lessThanOrEqualTo(value - 1));
+      }
+    }
+  }
+
+}
@@ -0,0 +1,162 @@
+package pact.producer.persistence;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+import pact.producer.dto.ScoreUsernameTimestamp;
+
+class ScoreJournalTest {
+
+    private static final Instant NOW = Instant.parse("2007-12-03T10:15:30.00Z");
+    private static final ScoreUsernameTimestamp JOHN = new ScoreUsernameTimestamp("John", 123, NOW);
+    private static final ScoreUsernameTimestamp JOHN_UPDATED = new ScoreUsernameTimestamp("John", 124, NOW);
+
+    private Path directory;
+    private ScoreJournal scoreJournal;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        directory = Files.createTempDirectory("score-journal");
+        scoreJournal = newJournal();
+        scoreJournal.open(1);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        scoreJournal.close();
+        FileSystemUtils.deleteRecursively(directory.toFile());
+    }
+
+    @Test
+    @DisplayName("replay should return the journaled mutations in order")
+    void replay() throws Exception {
+        scoreJournal.scoreCreated(JOHN);
+        scoreJournal.scoreUpdated(JOHN, JOHN_UPDATED);
+        scoreJournal.scoreDeleted(JOHN_UPDATED);
+        scoreJournal.close();
+
+        assertThat(types(replay(1)), contains(ScoreRecord.CREATE, ScoreRecord.UPDATE, ScoreRecord.DELETE));
+        assertEquals(JOHN_UPDATED, replay(1).get(1).getScore());
+    }
+
+    @Test
+    @DisplayName("replay should stop at a torn record")
+    void replay_shouldStopAtATornRecord() throws Exception {
+        scoreJournal.scoreCreated(JOHN);
+        scoreJournal.scoreUpdated(JOHN, JOHN_UPDATED);
+        scoreJournal.close();
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.findFirst().get();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        assertThat(types(replay(1)), contains(ScoreRecord.CREATE));
+    }
+
+    @Test
+    @DisplayName("rotate should start a new segment")
+    void rotate() throws Exception {
+        scoreJournal.scoreCreated(JOHN);
+        assertEquals(2, scoreJournal.rotate());
+        scoreJournal.scoreDeleted(JOHN);
+        scoreJournal.close();
+
+        assertThat(scoreJournal.listSegments(), contains(1L, 2L));
+        assertThat(types(replay(2)), contains(ScoreRecord.DELETE));
+    }
+
+    @Test
+    @DisplayName("a failed flush should keep its records for the next flush")
+    void flush_shouldKeepTheRecords_whenTheWriteFails() throws Exception {
+        ScoreJournal journal = newJournal();
+        FileChannel closed = FileChannel.open(directory.resolve("closed"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        closed.close();
+        ReflectionTestUtils.setField(journal, "channel", closed);
+        journal.scoreCreated(JOHN);
+
+        assertThrows(IOException.class, journal::flush);
+
+        journal.scoreUpdated(JOHN, JOHN_UPDATED);
+        journal.open(5);
+        journal.close();
+
+        assertThat(types(replay(5)), contains(ScoreRecord.CREATE, ScoreRecord.UPDATE));
+    }
+
+    @Test
+    @DisplayName("with fsync, a write should only be acknowledged once its records are on disk")
+    void beforeAcknowledgement_shouldWaitForTheFlush_whenFsyncIsSet() throws Exception {
+        ScoreJournal journal = newJournal();
+        ReflectionTestUtils.setField(journal, "fsync", true);
+        ReflectionTestUtils.setField(journal, "flushIntervalMs", 60_000L);
+        journal.open(7);
+        try {
+            journal.scoreCreated(JOHN);
+            journal.scoreUpdated(JOHN, JOHN_UPDATED);
+
+            journal.beforeAcknowledgement();
+
+            assertThat(types(replay(7)), contains(ScoreRecord.CREATE, ScoreRecord.UPDATE));
+        } finally {
+            journal.close();
+        }
+    }
+
+    @Test
+    @DisplayName("writers should be held back before their mutation while too many bytes are pending")
+    void beforeMutation_shouldBlock_whileTooManyBytesArePending() throws Exception {
+        ScoreJournal journal = newJournal();
+        ReflectionTestUtils.setField(journal, "maxPendingBytes", 1L);
+        ReflectionTestUtils.setField(journal, "running", true);
+        journal.scoreCreated(JOHN);
+        Thread writer = new Thread(journal::beforeMutation);
+        writer.start();
+        writer.join(200);
+
+        assertTrue(writer.isAlive());
+
+        ReflectionTestUtils.setField(journal, "running", false);
+        writer.join();
+    }
+
+    private ScoreJournal newJournal() {
+        ScoreJournal journal = new ScoreJournal();
+        ReflectionTestUtils.setField(journal, "directory", directory.toString());
+        ReflectionTestUtils.setField(journal, "flushIntervalMs", 1L);
+        ReflectionTestUtils.setField(journal, "fsync", false);
+        return journal;
+    }
+
+    private List<ScoreRecord> replay(long segment) throws IOException {
+        List<ScoreRecord> records = new ArrayList<>();
+        newJournal().replay(segment, records::add);
+        return records;
+    }
+
+    private static List<Byte> types(List<ScoreRecord> records) {
+        List<Byte> types = new ArrayList<>();
+        records.forEach(record -> types.add(record.getType()));
+        return types;
+    }
+}
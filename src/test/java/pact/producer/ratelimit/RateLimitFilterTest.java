@@ -0,0 +1,129 @@
+package pact.producer.ratelimit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = {
+    "scores.rate-limit.enabled=true",
+    "scores.rate-limit.reads-per-second=1",
+    "scores.rate-limit.burst=2",
+    "scores.rate-limit.max-concurrent-scans=0",
+    "scores.rate-limit.max-concurrent-bulk-writes=0",
+    "scores.rate-limit.trusted-proxies=127.0.0.1"})
+class RateLimitFilterTest {
+
+    private static final String BASE_PATH = "/api/v1/scores";
+    private static final String CLIENT_HEADER = "X-Client-Id";
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(this.webApplicationContext).addFilters(rateLimitFilter).build();
+    }
+
+    @Test
+    @DisplayName("requests over the rate of a client should be rejected with a 429")
+    void shouldReturnA429_whenTheClientIsOverItsRate() throws Exception {
+        mockMvc.perform(get(BASE_PATH + "/top").header(CLIENT_HEADER, "john"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(BASE_PATH + "/top").header(CLIENT_HEADER, "john"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get(BASE_PATH + "/top").header(CLIENT_HEADER, "john"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(content().json("{\"error\":\"Too many requests\"}"));
+        mockMvc.perform(get(BASE_PATH + "/top").header(CLIENT_HEADER, "pete"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("the client header should be ignored on requests that do not come from a trusted proxy")
+    void shouldKeyOnTheAddress_whenNotFromATrustedProxy() throws Exception {
+        for (String client : new String[] {"paul", "ringo"}) {
+            mockMvc.perform(get(BASE_PATH + "/top").header(CLIENT_HEADER, client).with(remoteAddress("10.0.0.1")))
+                    .andExpect(status().isOk());
+        }
+
+        mockMvc.perform(get(BASE_PATH + "/top").header(CLIENT_HEADER, "george").with(remoteAddress("10.0.0.1")))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    @DisplayName("each route should have its own bucket, shared by all the score names")
+    void shouldKeepABucketForEachRoute() throws Exception {
+        mockMvc.perform(get(BASE_PATH + "/john").header(CLIENT_HEADER, "lisa"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get(BASE_PATH + "/pete").header(CLIENT_HEADER, "lisa"))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(get(BASE_PATH + "/mary").header(CLIENT_HEADER, "lisa"))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(get(BASE_PATH + "/top").header(CLIENT_HEADER, "lisa"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("requests reading the whole store should be rejected with a 429 when too many are running")
+    void shouldReturnA429_whenTooManyScansAreRunning() throws Exception {
+        mockMvc.perform(get(BASE_PATH).header(CLIENT_HEADER, "mary"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+        mockMvc.perform(get(BASE_PATH).param("limit", "10").header(CLIENT_HEADER, "mary"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("batches and imports should be rejected with a 429 when too many are running")
+    void shouldReturnA429_whenTooManyBulkWritesAreRunning() throws Exception {
+        mockMvc.perform(post(BASE_PATH + ":batch").header(CLIENT_HEADER, "ruth")
+                .contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(post(BASE_PATH + ":import").header(CLIENT_HEADER, "ruth")
+                .contentType("application/x-ndjson").content(""))
+                .andExpect(status().isTooManyRequests());
+        mockMvc.perform(post(BASE_PATH).header(CLIENT_HEADER, "ruth")
+                .contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"ruth\",\"score\":1}"))
+                .andExpect(status().isAccepted());
+    }
+
+    @Test
+    @DisplayName("requests outside of the score API should not be limited")
+    void shouldNotLimitOtherPaths() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/metrics/scores").header(CLIENT_HEADER, "anna"))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    private static RequestPostProcessor remoteAddress(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,49 @@
+package pact.producer.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+    private static final long NOW = TimeUnit.SECONDS.toNanos(1000);
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final RateLimiter rateLimiter = new RateLimiter(10, 3);
+
+    @Test
+    @DisplayName("tryAcquire should admit a burst and then one request per interval")
+    void tryAcquire() {
+        assertEquals(0, rateLimiter.tryAcquire("john", NOW));
+        assertEquals(0, rateLimiter.tryAcquire("john", NOW));
+        assertEquals(0, rateLimiter.tryAcquire("john", NOW));
+        assertEquals(INTERVAL, rateLimiter.tryAcquire("john", NOW));
+        assertEquals(INTERVAL / 2, rateLimiter.tryAcquire("john", NOW + INTERVAL / 2));
+        assertEquals(0, rateLimiter.tryAcquire("john", NOW + INTERVAL));
+        assertEquals(INTERVAL, rateLimiter.tryAcquire("john", NOW + INTERVAL));
+    }
+
+    @Test
+    @DisplayName("tryAcquire should keep a bucket for each key")
+    void tryAcquire_shouldKeepABucketForEachKey() {
+        for (int i = 0; i < 3; i++) {
+            rateLimiter.tryAcquire("john", NOW);
+        }
+
+        assertEquals(0, rateLimiter.tryAcquire("pete", NOW));
+    }
+
+    @Test
+    @DisplayName("evictIdle should only forget the buckets that have refilled")
+    void evictIdle() {
+        rateLimiter.tryAcquire("john", NOW);
+        rateLimiter.tryAcquire("pete", NOW);
+        rateLimiter.tryAcquire("pete", NOW);
+
+        rateLimiter.evictIdle(NOW + INTERVAL);
+
+        assertEquals(1, rateLimiter.size());
+    }
+}
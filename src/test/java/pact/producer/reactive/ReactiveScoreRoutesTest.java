@@ -0,0 +1,254 @@
+package pact.producer.reactive;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import pact.producer.converter.ScoreBinaryHttpMessageConverter;
+import pact.producer.dto.ScorePatch;
+import pact.producer.dto.ScoreStats;
+import pact.producer.dto.ScoreUsername;
+import pact.producer.dto.ScoreUsernameTimestamp;
+import pact.producer.exception.DuplicatedScoreException;
+import pact.producer.exception.ScoreConflictException;
+import pact.producer.exception.UserNotFoundException;
+import pact.producer.handler.ScoreHandler;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest(properties = "spring.main.web-application-type=reactive")
+class ReactiveScoreRoutesTest {
+
+    private static final String USER_NAME = "john";
+    private static final int SCORE = 123;
+    private static final Instant TIMESTAMP = Instant.parse("2018-08-05T19:56:16.685Z");
+    private static final ScoreUsernameTimestamp SCORE_USERNAME_TIMESTAMP = new ScoreUsernameTimestamp(USER_NAME, SCORE, TIMESTAMP);
+    private static final String BASE_PATH = "/api/v1/scores";
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private ScoreHandler scoreHandler;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setup() throws UserNotFoundException {
+        this.webTestClient = WebTestClient.bindToApplicationContext(applicationContext).build();
+        when(scoreHandler.getAllScores()).thenReturn(singletonList(SCORE_USERNAME_TIMESTAMP));
+        when(scoreHandler.getScore(anyString())).thenReturn(SCORE_USERNAME_TIMESTAMP);
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + " should return all the scores")
+    void getAllScores() throws Exception {
+        webTestClient.get().uri(BASE_PATH).exchange()
+            .expectStatus().isOk()
+            .expectBody().json(convertToJson(singletonList(SCORE_USERNAME_TIMESTAMP)));
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + "/{username} should return the username score")
+    void getScore() throws Exception {
+        webTestClient.get().uri(BASE_PATH + "/" + USER_NAME).exchange()
+            .expectStatus().isOk()
+            .expectBody().json(convertToJson(SCORE_USERNAME_TIMESTAMP));
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + "/{username} should return a 404 when user not found")
+    void getScore_shouldReturnA404_whenUserNotFound() throws Exception {
+        when(scoreHandler.getScore(anyString())).thenThrow(new UserNotFoundException("Could not find username: " + USER_NAME));
+
+        webTestClient.get().uri(BASE_PATH + "/" + USER_NAME).exchange()
+            .expectStatus().isNotFound()
+            .expectBody().json("{\"error\":\"Could not find username: " + USER_NAME + "\"}");
+    }
+
+    @Test
+    @DisplayName("POST on " + BASE_PATH + " should create a new score")
+    void createScore() throws Exception {
+        webTestClient.post().uri(BASE_PATH).contentType(APPLICATION_JSON)
+            .syncBody(convertToJson(new ScoreUsername(USER_NAME, SCORE))).exchange()
+            .expectStatus().isAccepted();
+
+        verify(scoreHandler).createScore(USER_NAME, SCORE);
+    }
+
+    @Test
+    @DisplayName("POST on " + BASE_PATH + " should return a 400 when duplicated score")
+    void createScore_shouldReturnA400_whenDuplicatedScore() throws Exception {
+        doThrow(new DuplicatedScoreException("Username " + USER_NAME + " already exists")).when(scoreHandler).createScore(anyString(), anyInt());
+
+        webTestClient.post().uri(BASE_PATH).contentType(APPLICATION_JSON)
+            .syncBody(convertToJson(new ScoreUsername(USER_NAME, SCORE))).exchange()
+            .expectStatus().isBadRequest()
+            .expectBody().json("{\"error\":\"Username " + USER_NAME + " already exists\"}");
+    }
+
+    @Test
+    @DisplayName("PUT on " + BASE_PATH + "/{username} should update the score")
+    void updateScore() throws Exception {
+        webTestClient.put().uri(BASE_PATH + "/" + USER_NAME).contentType(APPLICATION_JSON)
+            .syncBody(convertToJson(SCORE)).exchange()
+            .expectStatus().isAccepted();
+
+        verify(scoreHandler).updateScore(USER_NAME, SCORE);
+    }
+
+    @Test
+    @DisplayName("DELETE on " + BASE_PATH + "/{username} should return a 404 when user not found")
+    void deleteScore_shouldReturnA404_whenUserNotFound() throws Exception {
+        doThrow(new UserNotFoundException("Could not find username: " + USER_NAME)).when(scoreHandler).deleteScore(anyString());
+
+        webTestClient.delete().uri(BASE_PATH + "/" + USER_NAME).exchange()
+            .expectStatus().isNotFound()
+            .expectBody().json("{\"error\":\"Could not find username: " + USER_NAME + "\"}");
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + "/{username} should call the handler on the elastic scheduler")
+    void getScore_shouldCallTheHandlerOffTheEventLoop() throws Exception {
+        AtomicReference<String> thread = new AtomicReference<>();
+        when(scoreHandler.getScore(anyString())).thenAnswer(invocation -> {
+            thread.set(Thread.currentThread().getName());
+            return SCORE_USERNAME_TIMESTAMP;
+        });
+
+        webTestClient.get().uri(BASE_PATH + "/" + USER_NAME).exchange()
+            .expectStatus().isOk();
+
+        assertThat(thread.get(), startsWith("elastic-"));
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + " should return a 400 when limit or n is not a number")
+    void getScores_shouldReturnA400_whenCountIsNotANumber() {
+        webTestClient.get().uri(BASE_PATH + "?limit=ten").exchange()
+            .expectStatus().isBadRequest();
+        webTestClient.get().uri(BASE_PATH + "/top?n=ten").exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + "?updatedSince= should return the scores written since then")
+    void getScoresUpdatedSince() throws Exception {
+        when(scoreHandler.getScoresUpdatedSince(TIMESTAMP, 10)).thenReturn(singletonList(SCORE_USERNAME_TIMESTAMP));
+
+        webTestClient.get().uri(BASE_PATH + "?updatedSince=" + TIMESTAMP + "&limit=10").exchange()
+            .expectStatus().isOk()
+            .expectBody().json(convertToJson(singletonList(SCORE_USERNAME_TIMESTAMP)));
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + "?updatedSince= should return a 400 when the instant is invalid")
+    void getScoresUpdatedSince_shouldReturnA400_whenInvalidInstant() {
+        webTestClient.get().uri(BASE_PATH + "?updatedSince=yesterday").exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + "?prefix= should return the scores whose name starts with it")
+    void getScoresWithPrefix() throws Exception {
+        when(scoreHandler.getScoresWithPrefix("jo", ScoreHandler.MAX_PAGE_SIZE)).thenReturn(singletonList(SCORE_USERNAME_TIMESTAMP));
+
+        webTestClient.get().uri(BASE_PATH + "?prefix=jo").exchange()
+            .expectStatus().isOk()
+            .expectBody().json(convertToJson(singletonList(SCORE_USERNAME_TIMESTAMP)));
+    }
+
+    @Test
+    @DisplayName("PATCH on " + BASE_PATH + "/{username} should apply the patch and return the score")
+    void patchScore() throws Exception {
+        ScorePatch patch = new ScorePatch(ScorePatch.Type.INCREMENT, 5, null);
+        when(scoreHandler.patchScore(USER_NAME, patch)).thenReturn(SCORE_USERNAME_TIMESTAMP);
+
+        webTestClient.patch().uri(BASE_PATH + "/" + USER_NAME).contentType(APPLICATION_JSON)
+            .syncBody(convertToJson(patch)).exchange()
+            .expectStatus().isOk()
+            .expectBody().json(convertToJson(SCORE_USERNAME_TIMESTAMP));
+    }
+
+    @Test
+    @DisplayName("PATCH on " + BASE_PATH + "/{username} should return a 409 when the patch is rejected")
+    void patchScore_shouldReturnA409_whenRejected() throws Exception {
+        ScorePatch patch = new ScorePatch(ScorePatch.Type.COMPARE_AND_SET, 5, 4);
+        when(scoreHandler.patchScore(USER_NAME, patch)).thenThrow(new ScoreConflictException("Score of john is 123, not 4"));
+
+        webTestClient.patch().uri(BASE_PATH + "/" + USER_NAME).contentType(APPLICATION_JSON)
+            .syncBody(convertToJson(patch)).exchange()
+            .expectStatus().isEqualTo(HttpStatus.CONFLICT)
+            .expectBody().json("{\"error\":\"Score of john is 123, not 4\"}");
+
+        webTestClient.patch().uri(BASE_PATH + "/" + USER_NAME).contentType(APPLICATION_JSON)
+            .syncBody(convertToJson(new ScorePatch(ScorePatch.Type.COMPARE_AND_SET, 5, null))).exchange()
+            .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + "/stats should return the score statistics")
+    void getStats() throws Exception {
+        ScoreStats stats = new ScoreStats(1, SCORE, (double) SCORE, SCORE, SCORE, SCORE, SCORE, SCORE, emptyList());
+        when(scoreHandler.getStats()).thenReturn(stats);
+
+        webTestClient.get().uri(BASE_PATH + "/stats").exchange()
+            .expectStatus().isOk()
+            .expectBody().json(convertToJson(stats));
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + " should return a 304 when the ETag matches the store version")
+    void getAllScores_shouldReturnA304_whenNotModified() {
+        when(scoreHandler.getSettledVersion()).thenReturn(7L);
+
+        webTestClient.get().uri(BASE_PATH).exchange()
+            .expectStatus().isOk()
+            .expectHeader().valueEquals("ETag", ScoreHandler.etag(7));
+        webTestClient.get().uri(BASE_PATH).header("If-None-Match", ScoreHandler.etag(7)).exchange()
+            .expectStatus().isNotModified();
+    }
+
+    @Test
+    @DisplayName("the routes only served by the servlet stack should return a 501")
+    void servletOnlyRoutes_shouldReturnA501() {
+        webTestClient.get().uri(BASE_PATH + "/changes").exchange()
+            .expectStatus().isEqualTo(HttpStatus.NOT_IMPLEMENTED);
+        webTestClient.get().uri(BASE_PATH).accept(ScoreBinaryHttpMessageConverter.APPLICATION_SCORE_BINARY).exchange()
+            .expectStatus().isEqualTo(HttpStatus.NOT_IMPLEMENTED);
+        webTestClient.post().uri(BASE_PATH + ":batch").contentType(APPLICATION_JSON).syncBody("[]").exchange()
+            .expectStatus().isEqualTo(HttpStatus.NOT_IMPLEMENTED);
+        webTestClient.get().uri(BASE_PATH + "/" + USER_NAME + "/history").exchange()
+            .expectStatus().isEqualTo(HttpStatus.NOT_IMPLEMENTED)
+            .expectBody().json("{\"error\":\"Score history is not available on the reactive stack\"}");
+    }
+
+    private String convertToJson(Object value) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(value);
+    }
+
+}
@@ -0,0 +1,43 @@
+package pact.producer.service;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class TimeProviderTest {
+
+  private final TimeProvider timeProvider = new TimeProvider();
+
+  @AfterEach
+  void tearDown() {
+    timeProvider.stop();
+  }
+
+  @Test
+  @DisplayName("now should read the system clock when no resolution is configured")
+  void now() {
+    timeProvider.start();
+    assertThat(Duration.between(timeProvider.now(), Instant.now()).abs(), lessThan(Duration.ofSeconds(1)));
+  }
+
+  @Test
+  @DisplayName("now should return the cached clock when a resolution is configured")
+  void now_shouldReturnTheCachedClock_whenResolutionIsConfigured() {
+    ReflectionTestUtils.setField(timeProvider, "resolutionMs", 60_000L);
+    timeProvider.start();
+
+    Instant now = timeProvider.now();
+    assertSame(now, timeProvider.now());
+    assertEquals(now.toEpochMilli(), timeProvider.nowMillis());
+    assertThat(Duration.between(now, Instant.now()).abs(), lessThan(Duration.ofSeconds(1)));
+  }
+
+}
@@ -0,0 +1,43 @@
+package pact.producer.shard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTest {
+
+    private static final List<String> NODES = Arrays.asList("http://localhost:8080", "http://localhost:8081", "http://localhost:8082");
+    private static final int KEYS = 30_000;
+
+    @Test
+    @DisplayName("nodeFor should spread the keys evenly across the nodes")
+    void nodeFor_shouldSpreadKeysEvenly() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.nodeFor("user-" + i), 1, Integer::sum);
+        }
+
+        assertEquals(NODES.size(), counts.size());
+        counts.values().forEach(count -> assertTrue(Math.abs(count - KEYS / NODES.size()) < KEYS / NODES.size() / 10, counts::toString));
+    }
+
+    @Test
+    @DisplayName("nodeFor should only move keys to an added node")
+    void nodeFor_shouldOnlyMoveKeysToAnAddedNode() {
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+        ConsistentHashRing grown = new ConsistentHashRing(Arrays.asList(NODES.get(0), NODES.get(1), NODES.get(2), "http://localhost:8083"), 128);
+
+        for (int i = 0; i < KEYS; i++) {
+            String before = ring.nodeFor("user-" + i);
+            String after = grown.nodeFor("user-" + i);
+            assertTrue(before.equals(after) || after.equals("http://localhost:8083"));
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package pact.producer.shard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+import pact.producer.Application;
+import pact.producer.dto.ScoreOperation;
+import pact.producer.dto.ScoreUsername;
+import pact.producer.dto.ScoreUsernameTimestamp;
+import pact.producer.handler.ScoreHandler;
+
+class ShardedScoresTest {
+
+    private static final int NODES = 3;
+    private static final int USERS = 30;
+    private static final String BASE_PATH = "/api/v1/scores";
+    private static final String SECRET = "cluster-secret";
+
+    private static final List<String> urls = new ArrayList<>();
+    private static final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+    private static final RestTemplate restTemplate = new RestTemplate();
+
+    @BeforeAll
+    static void startNodes() throws IOException {
+        List<Integer> ports = new ArrayList<>();
+        for (int i = 0; i < NODES; i++) {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                ports.add(socket.getLocalPort());
+                urls.add("http://localhost:" + socket.getLocalPort());
+            }
+        }
+        for (int i = 0; i < NODES; i++) {
+            contexts.add(new SpringApplicationBuilder(Application.class)
+                .properties("server.port=" + ports.get(i),
+                    "scores.sharding.nodes=" + String.join(",", urls),
+                    "scores.sharding.self=" + urls.get(i),
+                    "scores.sharding.secret=" + SECRET)
+                .run());
+        }
+        for (int i = 0; i < USERS; i++) {
+            restTemplate.postForLocation(urls.get(0) + BASE_PATH, new ScoreUsername("user-" + i, i));
+        }
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        contexts.forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    @DisplayName("each node should only keep the scores of the names it owns")
+    void scoresArePartitioned() {
+        Set<String> names = new HashSet<>();
+        int nodesWithScores = 0;
+        for (ConfigurableApplicationContext context : contexts) {
+            int size = 0;
+            for (ScoreUsernameTimestamp score : context.getBean(ScoreHandler.class).getAllScores()) {
+                assertTrue(names.add(score.getName()));
+                size++;
+            }
+            nodesWithScores += size > 0 ? 1 : 0;
+        }
+
+        assertEquals(USERS, names.size());
+        assertTrue(nodesWithScores > 1);
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + " should gather the scores of all the shards")
+    void getAllScores() {
+        JsonNode scores = restTemplate.getForObject(urls.get(1) + BASE_PATH, JsonNode.class);
+
+        assertEquals(USERS, scores.size());
+    }
+
+    @Test
+    @DisplayName("GET on " + BASE_PATH + "/top should merge the top scores of all the shards")
+    void getTopScores() {
+        List<Integer> expected = new ArrayList<>();
+        restTemplate.getForObject(urls.get(0) + BASE_PATH, JsonNode.class).forEach(score -> expected.add(score.get("score").asInt()));
+        expected.sort(Comparator.reverseOrder());
+
+        JsonNode top = restTemplate.getForObject(urls.get(2) + BASE_PATH + "/top?n=5", JsonNode.class);
+
+        assertEquals(5, top.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(expected.get(i).intValue(), top.get(i).get("score").asInt());
+        }
+    }
+
+    @Test
+    @DisplayName("queries that are not merged across the shards should return a 501")
+    void getStats_shouldReturnA501() {
+        HttpServerErrorException ex = assertThrows(HttpServerErrorException.class,
+            () -> restTemplate.getForObject(urls.get(0) + BASE_PATH + "/stats", JsonNode.class));
+        assertEquals(HttpStatus.NOT_IMPLEMENTED, ex.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("a batch should apply each operation on the shard that owns its name")
+    void applyBatch() {
+        List<ScoreOperation> operations = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            operations.add(new ScoreOperation(ScoreOperation.Type.CREATE, "batched-" + i, i));
+        }
+        operations.add(new ScoreOperation(ScoreOperation.Type.CREATE, "batched-0", 0));
+
+        JsonNode results = restTemplate.postForObject(urls.get(0) + BASE_PATH + ":batch", operations, JsonNode.class);
+
+        assertEquals(11, results.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("batched-" + i, results.get(i).get("name").asText());
+            assertEquals(HttpStatus.ACCEPTED.value(), results.get(i).get("status").asInt());
+            assertEquals(i, restTemplate.getForObject(urls.get(i % NODES) + BASE_PATH + "/batched-" + i, JsonNode.class).get("score").asInt());
+        }
+        assertEquals(HttpStatus.BAD_REQUEST.value(), results.get(10).get("status").asInt());
+        int owners = 0;
+        for (ConfigurableApplicationContext context : contexts) {
+            owners += context.getBean(ScoreHandler.class).getAllScores().stream().anyMatch(score -> score.getName().startsWith("batched-")) ? 1 : 0;
+        }
+        assertTrue(owners > 1);
+
+        List<ScoreOperation> deletions = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            deletions.add(new ScoreOperation(ScoreOperation.Type.DELETE, "batched-" + i, null));
+        }
+        restTemplate.postForObject(urls.get(1) + BASE_PATH + ":batch", deletions, JsonNode.class)
+            .forEach(result -> assertEquals(HttpStatus.ACCEPTED.value(), result.get("status").asInt()));
+    }
+
+    @Test
+    @DisplayName("imports should return a 501, as they would only write to the receiving node")
+    void importScores_shouldReturnA501() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.valueOf("application/x-ndjson"));
+        HttpServerErrorException ex = assertThrows(HttpServerErrorException.class,
+            () -> restTemplate.postForObject(urls.get(0) + BASE_PATH + ":import",
+                new HttpEntity<>("{\"name\":\"imported\",\"score\":1}\n", headers), JsonNode.class));
+        assertEquals(HttpStatus.NOT_IMPLEMENTED, ex.getStatusCode());
+    }
+
+    @Test
+    @DisplayName("requests for a name should be served by any node")
+    void updateScore() {
+        restTemplate.put(urls.get(1) + BASE_PATH + "/user-3", 300);
+
+        for (String url : urls) {
+            assertEquals(300, restTemplate.getForObject(url + BASE_PATH + "/user-3", JsonNode.class).get("score").asInt());
+        }
+    }
+
+    @Test
+    @DisplayName("errors of the owning shard should be returned by any node")
+    void deleteScore() {
+        restTemplate.postForLocation(urls.get(0) + BASE_PATH, new ScoreUsername("deleted", 1));
+        restTemplate.delete(urls.get(2) + BASE_PATH + "/deleted");
+
+        for (String url : urls) {
+            HttpClientErrorException ex = assertThrows(HttpClientErrorException.class,
+                () -> restTemplate.getForObject(url + BASE_PATH + "/deleted", JsonNode.class));
+            assertEquals(HttpStatus.NOT_FOUND, ex.getStatusCode());
+            assertEquals("{\"error\":\"Could not find username: deleted\"}", ex.getResponseBodyAsString());
+        }
+
+        HttpClientErrorException ex = assertThrows(HttpClientErrorException.class,
+            () -> restTemplate.postForLocation(urls.get(1) + BASE_PATH, new ScoreUsername("user-5", 5)));
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+        assertEquals("{\"error\":\"Username user-5 already exists\"}", ex.getResponseBodyAsString());
+    }
+
+    @Test
+    @DisplayName("the internal endpoints should only answer the shard nodes")
+    void internalEndpoints_shouldRequireTheSecret() {
+        String internalUrl = urls.get(0) + RemoteScoreShard.SHARD_PATH;
+        HttpClientErrorException ex = assertThrows(HttpClientErrorException.class,
+            () -> restTemplate.put(internalUrl + "/user-1", 100));
+        assertEquals(HttpStatus.FORBIDDEN, ex.getStatusCode());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(ShardAccessFilter.SECRET_HEADER, SECRET);
+        ResponseEntity<JsonNode> scores = restTemplate.exchange(internalUrl, HttpMethod.GET, new HttpEntity<>(headers), JsonNode.class);
+        assertEquals(HttpStatus.OK, scores.getStatusCode());
+    }
+}